@@ -1,8 +1,10 @@
 package com.roadtech;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RoadTechApplication {
 
     public static void main(String[] args) {
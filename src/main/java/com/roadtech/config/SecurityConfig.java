@@ -1,9 +1,12 @@
 package com.roadtech.config;
 
 import com.roadtech.security.JwtAuthFilter;
+import com.roadtech.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -31,8 +34,19 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
 
+    // Existing hashes with a lower cost are upgraded on the next successful login
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.db-workers:4}")
+    private int authDbWorkers;
+
+    @Value("${security.password.queue-capacity:200}")
+    private int passwordQueueCapacity;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -48,12 +62,14 @@ public class SecurityConfig {
                                 "/api-docs/**",
                                 "/v3/api-docs/**",
                                 "/ws/**",
+                                "/ws-stomp/**",
+                                "/telemetry",
                                 "/h2-console/**"
                         ).permitAll()
                         // Mechanic endpoints
                         .requestMatchers("/mechanic/**").hasRole("MECHANIC")
                         // Admin endpoints
-                        .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -62,6 +78,8 @@ public class SecurityConfig {
                 )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Needs the authenticated user to pick the bucket
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
                 // Allow H2 console frames
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
@@ -103,8 +121,19 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Runs the login and registration transactions once hashing is done, kept below the connection pool size
+    @Bean
+    public ThreadPoolTaskExecutor authTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(authDbWorkers);
+        executor.setMaxPoolSize(authDbWorkers);
+        executor.setQueueCapacity(passwordQueueCapacity);
+        executor.setThreadNamePrefix("auth-db-");
+        return executor;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.roadtech.config;
+
+import com.roadtech.websocket.TelemetryHandshakeInterceptor;
+import com.roadtech.websocket.TelemetryWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class TelemetryWebSocketConfig implements WebSocketConfigurer {
+
+    private final TelemetryWebSocketHandler telemetryHandler;
+    private final TelemetryHandshakeInterceptor telemetryHandshakeInterceptor;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Raw WebSocket, no SockJS fallback: the frames are binary
+        registry.addHandler(telemetryHandler, "/telemetry")
+                .addInterceptors(telemetryHandshakeInterceptor)
+                .setAllowedOrigins("http://localhost:5173", "http://localhost:80", "http://localhost");
+    }
+}
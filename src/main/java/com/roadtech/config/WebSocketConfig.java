@@ -1,20 +1,28 @@
 package com.roadtech.config;
 
+import com.roadtech.websocket.LocationBinaryMessageConverter;
+import com.roadtech.websocket.RateLimitChannelInterceptor;
+import com.roadtech.websocket.SessionPrincipalArgumentResolver;
 import com.roadtech.websocket.WebSocketAuthInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor authInterceptor;
+    private final RateLimitChannelInterceptor rateLimitInterceptor;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -31,10 +39,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:5173", "http://localhost:80", "http://localhost")
                 .withSockJS();
+
+        // Plain WebSocket without SockJS, which is text-only; needed for binary location frames
+        registry.addEndpoint("/ws-stomp")
+                .setAllowedOrigins("http://localhost:5173", "http://localhost:80", "http://localhost");
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(new LocationBinaryMessageConverter());
+        // Keep the default JSON/String/byte[] converters after it
+        return true;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
+        // Runs before the catch-all payload resolver
+        argumentResolvers.add(new SessionPrincipalArgumentResolver());
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(authInterceptor);
+        registration.interceptors(authInterceptor, rateLimitInterceptor);
     }
 }
@@ -1,14 +1,18 @@
 package com.roadtech.controller;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,7 +20,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.roadtech.dto.admin.*;
+import com.roadtech.dto.mechanic.LocationBatchResultDto;
+import com.roadtech.security.CustomUserDetails;
 import com.roadtech.service.AdminService;
+import com.roadtech.service.LocationBatchService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -32,6 +39,7 @@ import lombok.RequiredArgsConstructor;
 public class AdminController {
 
     private final AdminService adminService;
+    private final LocationBatchService locationBatchService;
 
     // Dashboard Statistics
     @GetMapping("/dashboard/stats")
@@ -41,6 +49,36 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/dispatch/stats")
+    @Operation(summary = "Get automatic dispatch statistics")
+    public ResponseEntity<DispatchStatsDto> getDispatchStats() {
+        return ResponseEntity.ok(adminService.getDispatchStats());
+    }
+
+    @GetMapping("/rate-limits/stats")
+    @Operation(summary = "Get rate limiter rejection counts")
+    public ResponseEntity<RateLimitStatsDto> getRateLimitStats() {
+        return ResponseEntity.ok(adminService.getRateLimitStats());
+    }
+
+    @PostMapping(value = "/locations/batch", consumes = "application/x-ndjson")
+    @Operation(summary = "Upload fleet locations as NDJSON, one point per line")
+    public ResponseEntity<LocationBatchResultDto> uploadFleetLocations(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(locationBatchService.ingestNdjson(userDetails.getUserId(), true, body));
+    }
+
+    @PostMapping(value = "/locations/batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload fleet locations as fixed-size binary points")
+    public ResponseEntity<LocationBatchResultDto> uploadFleetLocationsBinary(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(locationBatchService.ingestBinary(userDetails.getUserId(), true, body));
+    }
+
     // User Management
     @GetMapping("/users")
     @Operation(summary = "Get all users with filters")
@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /*
  * This controller handles all authentication-related APIs
  * like register, login, refresh token, and logout.
@@ -77,22 +79,20 @@ public class AuthController {
      * Endpoint: POST /auth/register
      */
     @Operation(summary = "Register a new user")
-    public ResponseEntity<AuthResponse> register(
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(
             @Valid @RequestBody RegisterRequest request) {
         /*
          * @RequestBody converts incoming JSON into RegisterRequest object.
          * @Valid checks input validations (email format, password length, etc.).
          */
 
-        AuthResponse response = authService.register(request);
+        return authService.register(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
         /*
          * Calls service layer to register user.
          * Service handles password hashing, saving user, and token generation.
-         */
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        /*
-         * Returns HTTP 201 (Created) with authentication response.
+         * Hashing runs off the request thread; the response is written
+         * with HTTP 201 (Created) once it completes.
          */
     }
 
@@ -102,21 +102,18 @@ public class AuthController {
      * Endpoint: POST /auth/login
      */
     @Operation(summary = "Login with email and password")
-    public ResponseEntity<AuthResponse> login(
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(
             @Valid @RequestBody LoginRequest request) {
 
         /*
          * LoginRequest contains email and password.
          * Validation ensures correct input format.
          */
-        AuthResponse response = authService.login(request);
+        return authService.login(request).thenApply(ResponseEntity::ok);
         /*
          * Service verifies credentials and generates access & refresh tokens.
-         */
-
-        return ResponseEntity.ok(response);
-        /*
-         * Returns HTTP 200 (OK) with tokens and user info.
+         * Returns HTTP 200 (OK) with tokens and user info once the password
+         * check, which runs off the request thread, completes.
          */
     }
 
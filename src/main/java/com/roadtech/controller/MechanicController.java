@@ -1,22 +1,27 @@
 package com.roadtech.controller;
 
 import com.roadtech.dto.mechanic.AvailabilityDto;
+import com.roadtech.dto.mechanic.LocationBatchResultDto;
 import com.roadtech.dto.mechanic.LocationUpdateDto;
 import com.roadtech.dto.mechanic.MechanicProfileDto;
 import com.roadtech.dto.mechanic.UpdateMechanicProfileDto;
 import com.roadtech.dto.request.ServiceRequestDto;
 import com.roadtech.security.CustomUserDetails;
+import com.roadtech.service.LocationBatchService;
 import com.roadtech.service.MechanicService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/mechanic")
@@ -26,6 +31,7 @@ import java.util.List;
 public class MechanicController {
 
     private final MechanicService mechanicService;
+    private final LocationBatchService locationBatchService;
 
     @GetMapping("/profile")
     @Operation(summary = "Get mechanic profile")
@@ -66,6 +72,36 @@ public class MechanicController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/location/batch", consumes = "application/x-ndjson")
+    @Operation(summary = "Upload queued locations as NDJSON, one point per line")
+    public ResponseEntity<LocationBatchResultDto> uploadLocationBatch(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(locationBatchService.ingestNdjson(userDetails.getUserId(), false, body));
+    }
+
+    @PostMapping(value = "/location/batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload queued locations as fixed-size binary points")
+    public ResponseEntity<LocationBatchResultDto> uploadLocationBatchBinary(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(locationBatchService.ingestBinary(userDetails.getUserId(), false, body));
+    }
+
+    @GetMapping("/requests/topic")
+    @Operation(summary = "Get the WebSocket topic for new requests near the mechanic")
+    public ResponseEntity<Map<String, String>> getRequestTopic(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        String topic = mechanicService.getRequestTopic(userDetails.getUserId());
+        if (topic == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(Map.of("topic", topic));
+    }
+
     @GetMapping("/requests/pending")
     @Operation(summary = "Get pending requests without assigned mechanic")
     public ResponseEntity<List<ServiceRequestDto>> getPendingRequests() {
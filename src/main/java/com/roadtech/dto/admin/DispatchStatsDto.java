@@ -0,0 +1,25 @@
+package com.roadtech.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchStatsDto {
+    private Boolean enabled;
+    private Long cycles;
+    private Long budgetExceededCycles;
+    private Long lastCycleMillis;
+    private Long maxCycleMillis;
+    private Integer lastPendingRequests;
+    private Integer lastAvailableMechanics;
+    private Integer lastUnassignedRequests;
+    private Long totalAssignments;
+    private Long failedAssignments;
+    private Double averageAssignedEtaMinutes;
+    private Double specializationMatchRate;
+}
@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -21,8 +20,8 @@ public class PartsProviderVerificationDto {
     private String shopName;
     private String address;
     private String phone;
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Double latitude;
+    private Double longitude;
     private Boolean isVerified;
     private LocalDateTime createdAt;
 
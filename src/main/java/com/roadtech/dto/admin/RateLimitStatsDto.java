@@ -0,0 +1,19 @@
+package com.roadtech.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitStatsDto {
+    private Long authRejected;
+    private Long locationRejected;
+    private Long searchRejected;
+    private Integer authTrackedKeys;
+    private Integer locationTrackedKeys;
+    private Integer searchTrackedKeys;
+}
@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -22,8 +21,8 @@ public class ServiceRequestManagementDto {
     private String mechanicEmail;
     private ServiceRequest.IssueType issueType;
     private String description;
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Double latitude;
+    private Double longitude;
     private ServiceRequest.RequestStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime completedAt;
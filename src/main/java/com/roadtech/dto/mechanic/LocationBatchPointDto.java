@@ -0,0 +1,16 @@
+package com.roadtech.dto.mechanic;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One NDJSON line; mechanicId may be omitted for own points, recordedAt is epoch millis
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchPointDto {
+    private Long mechanicId;
+    private Double latitude;
+    private Double longitude;
+    private Long recordedAt;
+}
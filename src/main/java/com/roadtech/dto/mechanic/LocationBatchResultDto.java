@@ -0,0 +1,17 @@
+package com.roadtech.dto.mechanic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchResultDto {
+    private Integer received;
+    private Integer rejected;
+    private Integer superseded;
+    private Integer mechanicsUpdated;
+}
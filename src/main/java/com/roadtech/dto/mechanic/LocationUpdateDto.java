@@ -5,8 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,10 +13,14 @@ public class LocationUpdateDto {
     @NotNull(message = "Latitude is required")
     @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
     @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
-    private BigDecimal latitude;
+    private Double latitude;
 
     @NotNull(message = "Longitude is required")
     @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
     @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
-    private BigDecimal longitude;
+    private Double longitude;
+
+    // Milliseconds between the position fix and sending it; absent means just now
+    @PositiveOrZero(message = "Fix age cannot be negative")
+    private Long fixAgeMs;
 }
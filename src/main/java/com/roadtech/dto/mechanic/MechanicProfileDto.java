@@ -25,8 +25,8 @@ public class MechanicProfileDto {
     private List<String> specializations;
     private Boolean isAvailable;
     private Boolean isVerified;
-    private BigDecimal currentLatitude;
-    private BigDecimal currentLongitude;
+    private Double currentLatitude;
+    private Double currentLongitude;
     private BigDecimal rating;
     private Integer totalJobs;
     private LocalDateTime locationUpdatedAt;
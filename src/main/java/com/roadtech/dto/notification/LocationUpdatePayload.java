@@ -0,0 +1,4 @@
+package com.roadtech.dto.notification;
+
+public record LocationUpdatePayload(Long requestId, Long mechanicId, double latitude, double longitude) {
+}
@@ -0,0 +1,9 @@
+package com.roadtech.dto.notification;
+
+// Envelope for every WebSocket notification: {"type": ..., "payload": ..., "timestamp": ...}
+public record NotificationMessage<T>(String type, T payload, long timestamp) {
+
+    public static <T> NotificationMessage<T> of(String type, T payload) {
+        return new NotificationMessage<>(type, payload, System.currentTimeMillis());
+    }
+}
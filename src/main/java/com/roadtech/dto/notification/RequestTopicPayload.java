@@ -0,0 +1,4 @@
+package com.roadtech.dto.notification;
+
+public record RequestTopicPayload(String topic) {
+}
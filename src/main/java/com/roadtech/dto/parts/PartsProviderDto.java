@@ -19,8 +19,8 @@ public class PartsProviderDto {
     private Long userId;
     private String shopName;
     private String address;
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Double latitude;
+    private Double longitude;
     private Boolean isVerified;
     private Boolean isOpen;
     private BigDecimal rating;
@@ -7,8 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,10 +18,10 @@ public class UpdatePartsProviderDto {
     private String address;
 
     @NotNull(message = "Latitude is required")
-    private BigDecimal latitude;
+    private Double latitude;
 
     @NotNull(message = "Longitude is required")
-    private BigDecimal longitude;
+    private Double longitude;
 
     private String phone;
     private String openingTime;
@@ -17,8 +17,8 @@ public class VendorWithPartsDto {
     private String shopName;
     private String address;
     private String phone;
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Double latitude;
+    private Double longitude;
     private Double distance; // in km
     private BigDecimal rating;
     private Boolean isOpen;
@@ -10,7 +10,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -24,8 +23,8 @@ public class ServiceRequestDto {
     private Long mechanicId;
     private IssueType issueType;
     private String description;
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Double latitude;
+    private Double longitude;
     private String address;
     private RequestStatus status;
     private LocalDateTime estimatedArrival;
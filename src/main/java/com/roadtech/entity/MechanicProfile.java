@@ -38,11 +38,12 @@ public class MechanicProfile {
     @Builder.Default
     private Boolean isVerified = false;
     
-    @Column(name = "current_latitude", precision = 10, scale = 8)
-    private BigDecimal currentLatitude;
+    // Held as doubles in memory, stored as DECIMAL so the schema is unchanged
+    @Column(name = "current_latitude", columnDefinition = "DECIMAL(10,8)")
+    private Double currentLatitude;
 
-    @Column(name = "current_longitude", precision = 11, scale = 8)
-    private BigDecimal currentLongitude;
+    @Column(name = "current_longitude", columnDefinition = "DECIMAL(11,8)")
+    private Double currentLongitude;
 
     @Column(precision = 3, scale = 2)
     @Builder.Default
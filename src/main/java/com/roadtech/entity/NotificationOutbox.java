@@ -0,0 +1,49 @@
+package com.roadtech.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Channel channel;
+
+    // Newline-separated STOMP destinations for WEBSOCKET entries, unused for Telegram broadcasts
+    @Column(columnDefinition = "TEXT")
+    private String destinations;
+
+    // Serialized JSON for WEBSOCKET entries, message text for Telegram broadcasts
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // Failed publishes so far; the row is retried after next_attempt_at
+    @Column(name = "attempts")
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Channel {
+        WEBSOCKET, TELEGRAM_BROADCAST
+    }
+}
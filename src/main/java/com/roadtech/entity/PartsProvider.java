@@ -31,11 +31,11 @@ public class PartsProvider {
     @Column(nullable = false, length = 500)
     private String address;
 
-    @Column(nullable = false, precision = 10, scale = 8)
-    private BigDecimal latitude;
+    @Column(nullable = false, columnDefinition = "DECIMAL(10,8)")
+    private Double latitude;
 
-    @Column(nullable = false, precision = 11, scale = 8)
-    private BigDecimal longitude;
+    @Column(nullable = false, columnDefinition = "DECIMAL(11,8)")
+    private Double longitude;
 
     @Column(name = "is_verified")
     @Builder.Default
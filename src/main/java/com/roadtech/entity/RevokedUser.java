@@ -0,0 +1,26 @@
+package com.roadtech.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Deleted users whose access tokens may still be live; no foreign key because the user row is gone
+@Entity
+@Table(name = "revoked_users", indexes = {
+        @Index(name = "idx_revoked_user_revoked_at", columnList = "revoked_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedUser {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
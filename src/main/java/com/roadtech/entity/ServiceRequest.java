@@ -5,7 +5,6 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -36,11 +35,11 @@ public class ServiceRequest {
     @Column(length = 2000)
     private String description;
 
-    @Column(nullable = false, precision = 10, scale = 8)
-    private BigDecimal latitude;
+    @Column(nullable = false, columnDefinition = "DECIMAL(10,8)")
+    private Double latitude;
 
-    @Column(nullable = false, precision = 11, scale = 8)
-    private BigDecimal longitude;
+    @Column(nullable = false, columnDefinition = "DECIMAL(11,8)")
+    private Double longitude;
 
     @Column(length = 500)
     private String address;
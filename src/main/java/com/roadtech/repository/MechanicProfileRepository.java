@@ -2,11 +2,12 @@ package com.roadtech.repository;
 
 import com.roadtech.entity.MechanicProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,8 @@ public interface MechanicProfileRepository extends JpaRepository<MechanicProfile
 
     Optional<MechanicProfile> findByUserId(Long userId);
 
+    List<MechanicProfile> findByUserIdIn(Collection<Long> userIds);
+
     List<MechanicProfile> findByIsAvailableTrue();
 
     // For admin verification
@@ -22,26 +25,6 @@ public interface MechanicProfileRepository extends JpaRepository<MechanicProfile
 
     List<MechanicProfile> findByIsVerifiedTrue();
 
-    @Query(value = """
-        SELECT mp.* FROM mechanic_profiles mp
-        JOIN users u ON mp.user_id = u.id
-        WHERE mp.is_available = true
-        AND mp.is_verified = true
-        AND u.is_active = true
-        AND mp.current_latitude IS NOT NULL
-        AND mp.current_longitude IS NOT NULL
-        ORDER BY (
-            POW(mp.current_latitude - :lat, 2) +
-            POW(mp.current_longitude - :lng, 2)
-        ) ASC
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<MechanicProfile> findNearestAvailableMechanics(
-            @Param("lat") BigDecimal latitude,
-            @Param("lng") BigDecimal longitude,
-            @Param("limit") int limit
-    );
-
     @Query("""
         SELECT mp FROM MechanicProfile mp
         JOIN FETCH mp.user u
@@ -50,6 +33,30 @@ public interface MechanicProfileRepository extends JpaRepository<MechanicProfile
         AND u.isActive = true
         """)
     List<MechanicProfile> findAllAvailableWithUser();
+
+    @Query("""
+        SELECT u.telegramChatId FROM MechanicProfile mp
+        JOIN mp.user u
+        WHERE mp.isAvailable = true
+        AND mp.isVerified = true
+        AND u.isActive = true
+        AND u.telegramChatId IS NOT NULL
+        """)
+    List<Long> findAvailableTelegramChatIds();
+
+    @Modifying
+    @Query(value = """
+        UPDATE mechanic_profiles SET total_jobs = COALESCE(total_jobs, 0) + 1
+        WHERE user_id = :userId
+        """, nativeQuery = true)
+    int incrementTotalJobs(@Param("userId") Long userId);
+
+    // Row per existing profile: [user id, location_updated_at]
+    @Query("""
+        SELECT mp.user.id, mp.locationUpdatedAt FROM MechanicProfile mp
+        WHERE mp.user.id IN :userIds
+        """)
+    List<Object[]> findLocationTimestamps(@Param("userIds") Collection<Long> userIds);
     
     @Query("""
     	    SELECT COUNT(mp)
@@ -0,0 +1,41 @@
+package com.roadtech.repository;
+
+import com.roadtech.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query("""
+        SELECT o FROM NotificationOutbox o
+        WHERE o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now
+        ORDER BY o.id ASC
+        """)
+    List<NotificationOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt
+        WHERE o.id = :id
+        """)
+    int scheduleRetry(@Param("id") Long id,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,12 +25,14 @@ public interface PartRepository extends JpaRepository<Part, Long> {
         WHERE p.is_available = true
         AND pp.is_verified = true
         AND pp.is_open = true
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
         AND (
-            6371 * acos(
+            6371 * acos(LEAST(1.0,
                 cos(radians(:lat)) * cos(radians(pp.latitude)) *
                 cos(radians(pp.longitude) - radians(:lng)) +
                 sin(radians(:lat)) * sin(radians(pp.latitude))
-            )
+            ))
         ) <= :radiusKm
         ORDER BY (
             POW(pp.latitude - :lat, 2) +
@@ -39,7 +42,11 @@ public interface PartRepository extends JpaRepository<Part, Long> {
     List<Part> findNearbyParts(
             @Param("lat") Double latitude,
             @Param("lng") Double longitude,
-            @Param("radiusKm") Double radiusKm
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
     );
 
     @Query(value = """
@@ -49,12 +56,14 @@ public interface PartRepository extends JpaRepository<Part, Long> {
         AND pp.is_verified = true
         AND pp.is_open = true
         AND p.category = :category
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
         AND (
-            6371 * acos(
+            6371 * acos(LEAST(1.0,
                 cos(radians(:lat)) * cos(radians(pp.latitude)) *
                 cos(radians(pp.longitude) - radians(:lng)) +
                 sin(radians(:lat)) * sin(radians(pp.latitude))
-            )
+            ))
         ) <= :radiusKm
         ORDER BY (
             POW(pp.latitude - :lat, 2) +
@@ -65,7 +74,11 @@ public interface PartRepository extends JpaRepository<Part, Long> {
             @Param("category") Part.PartCategory category,
             @Param("lat") Double latitude,
             @Param("lng") Double longitude,
-            @Param("radiusKm") Double radiusKm
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
     );
 
     @Query(value = """
@@ -75,12 +88,14 @@ public interface PartRepository extends JpaRepository<Part, Long> {
         AND pp.is_verified = true
         AND pp.is_open = true
         AND LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
         AND (
-            6371 * acos(
+            6371 * acos(LEAST(1.0,
                 cos(radians(:lat)) * cos(radians(pp.latitude)) *
                 cos(radians(pp.longitude) - radians(:lng)) +
                 sin(radians(:lat)) * sin(radians(pp.latitude))
-            )
+            ))
         ) <= :radiusKm
         ORDER BY (
             POW(pp.latitude - :lat, 2) +
@@ -91,7 +106,11 @@ public interface PartRepository extends JpaRepository<Part, Long> {
             @Param("search") String search,
             @Param("lat") Double latitude,
             @Param("lng") Double longitude,
-            @Param("radiusKm") Double radiusKm
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
     );
 
     @Query(value = """
@@ -102,12 +121,14 @@ public interface PartRepository extends JpaRepository<Part, Long> {
         AND pp.is_open = true
         AND p.category = :category
         AND LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
         AND (
-            6371 * acos(
+            6371 * acos(LEAST(1.0,
                 cos(radians(:lat)) * cos(radians(pp.latitude)) *
                 cos(radians(pp.longitude) - radians(:lng)) +
                 sin(radians(:lat)) * sin(radians(pp.latitude))
-            )
+            ))
         ) <= :radiusKm
         ORDER BY (
             POW(pp.latitude - :lat, 2) +
@@ -119,6 +140,137 @@ public interface PartRepository extends JpaRepository<Part, Long> {
             @Param("search") String search,
             @Param("lat") Double latitude,
             @Param("lng") Double longitude,
-            @Param("radiusKm") Double radiusKm
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
+    );
+
+    // Ids of parts a nearby search may return; PartSearchIndex ranks only these
+    @Query(value = """
+        SELECT p.id FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
+        AND (
+            6371 * acos(LEAST(1.0,
+                cos(radians(:lat)) * cos(radians(pp.latitude)) *
+                cos(radians(pp.longitude) - radians(:lng)) +
+                sin(radians(:lat)) * sin(radians(pp.latitude))
+            ))
+        ) <= :radiusKm
+        """, nativeQuery = true)
+    List<Long> findNearbyIds(
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
+    );
+
+    @Query("SELECT p.id FROM Part p WHERE p.provider.user.id = :userId")
+    List<Long> findIdsByProviderUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p FROM Part p JOIN FETCH p.provider WHERE p.id IN :ids")
+    List<Part> findAllWithProviderByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Spatial-mode variants, used only when SpatialSearchSupport is active (MySQL 8)
+
+    @Query(value = """
+        SELECT p.id FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        """, nativeQuery = true)
+    List<Long> findNearbyIdsSpatial(
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
+    );
+
+    @Query(value = """
+        SELECT p.* FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        ORDER BY ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) ASC
+        """, nativeQuery = true)
+    List<Part> findNearbyPartsSpatial(
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
+    );
+
+    @Query(value = """
+        SELECT p.* FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND p.category = :category
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        ORDER BY ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) ASC
+        """, nativeQuery = true)
+    List<Part> findNearbyByCategorySpatial(
+            @Param("category") Part.PartCategory category,
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
+    );
+
+    @Query(value = """
+        SELECT p.* FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        ORDER BY ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) ASC
+        """, nativeQuery = true)
+    List<Part> searchNearbyByNameSpatial(
+            @Param("search") String search,
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
+    );
+
+    @Query(value = """
+        SELECT p.* FROM parts p
+        INNER JOIN parts_providers pp ON p.provider_id = pp.id
+        WHERE p.is_available = true
+        AND pp.is_verified = true
+        AND pp.is_open = true
+        AND p.category = :category
+        AND LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        ORDER BY ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) ASC
+        """, nativeQuery = true)
+    List<Part> searchNearbyByCategoryAndNameSpatial(
+            @Param("category") Part.PartCategory category,
+            @Param("search") String search,
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
     );
 }
@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +23,14 @@ public interface PartsProviderRepository extends JpaRepository<PartsProvider, Lo
         SELECT pp.* FROM parts_providers pp
         WHERE pp.is_verified = true
         AND pp.is_open = true
+        AND pp.latitude BETWEEN :minLat AND :maxLat
+        AND pp.longitude BETWEEN :minLng AND :maxLng
         AND (
-            6371 * acos(
+            6371 * acos(LEAST(1.0,
                 cos(radians(:lat)) * cos(radians(pp.latitude)) *
                 cos(radians(pp.longitude) - radians(:lng)) +
                 sin(radians(:lat)) * sin(radians(pp.latitude))
-            )
+            ))
         ) <= :radiusKm
         ORDER BY (
             POW(pp.latitude - :lat, 2) +
@@ -37,8 +38,27 @@ public interface PartsProviderRepository extends JpaRepository<PartsProvider, Lo
         ) ASC
         """, nativeQuery = true)
     List<PartsProvider> findNearbyProviders(
-            @Param("lat") BigDecimal latitude,
-            @Param("lng") BigDecimal longitude,
-            @Param("radiusKm") Double radiusKm
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLng") Double maxLng
     );
-}
\ No newline at end of file
+
+    @Query(value = """
+        SELECT pp.* FROM parts_providers pp
+        WHERE pp.is_verified = true
+        AND pp.is_open = true
+        AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), pp.location)
+        AND ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) <= :radiusKm * 1000
+        ORDER BY ST_Distance_Sphere(pp.location, ST_SRID(POINT(:lng, :lat), 4326)) ASC
+        """, nativeQuery = true)
+    List<PartsProvider> findNearbyProvidersSpatial(
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("box") String boxWkt
+    );
+}
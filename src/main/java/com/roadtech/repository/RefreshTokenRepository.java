@@ -1,27 +1,45 @@
 package com.roadtech.repository;
 
 import com.roadtech.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
 
-    void deleteByToken(String token);
+    // 0 when another rotation got there first, which counts as reuse
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE RefreshToken rt SET rt.rotatedAt = :now
+        WHERE rt.id = :id AND rt.rotatedAt IS NULL
+        """)
+    int markRotated(@Param("id") Long id, @Param("now") LocalDateTime now);
 
-    void deleteByUserId(Long userId);
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    // Served by idx_refresh_token_expires_at, so each purge chunk stays cheap
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiresAt < :now ORDER BY rt.expiresAt ASC")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
 
+    @Transactional
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
@@ -0,0 +1,22 @@
+package com.roadtech.repository;
+
+import com.roadtech.entity.RevokedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedUserRepository extends JpaRepository<RevokedUser, Long> {
+
+    @Query("SELECT r.userId FROM RevokedUser r WHERE r.revokedAt > :since")
+    List<Long> findUserIdsRevokedAfter(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedUser r WHERE r.revokedAt <= :before")
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,15 +2,18 @@
 package com.roadtech.repository;
 
 import com.roadtech.entity.ServiceRequest;
+import com.roadtech.entity.User;
 import com.roadtech.entity.ServiceRequest.RequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -67,6 +70,20 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
         """)
     List<ServiceRequest> findActiveRequestsByMechanicId(@Param("mechanicId") Long mechanicId);
 
+    @Query("""
+        SELECT sr FROM ServiceRequest sr
+        WHERE sr.mechanic.id IN :mechanicIds
+        AND sr.status IN ('ACCEPTED', 'IN_PROGRESS')
+        """)
+    List<ServiceRequest> findActiveRequestsByMechanicIds(@Param("mechanicIds") Collection<Long> mechanicIds);
+
+    @Query("""
+        SELECT DISTINCT sr.mechanic.id FROM ServiceRequest sr
+        WHERE sr.mechanic.id IN :mechanicIds
+        AND sr.status IN ('ACCEPTED', 'IN_PROGRESS')
+        """)
+    List<Long> findBusyMechanicIds(@Param("mechanicIds") Collection<Long> mechanicIds);
+
     @Query("""
         SELECT sr FROM ServiceRequest sr
         LEFT JOIN FETCH sr.user
@@ -76,6 +93,27 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
         """)
     List<ServiceRequest> findPendingRequestsWithoutMechanic();
 
+    // Claims the request only if nobody else has; returns 0 when another mechanic won
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE ServiceRequest sr
+        SET sr.mechanic = :mechanic,
+            sr.status = :status,
+            sr.acceptedAt = :now,
+            sr.estimatedArrival = :estimatedArrival,
+            sr.updatedAt = :now
+        WHERE sr.id = :id
+        AND sr.status = 'PENDING'
+        AND sr.mechanic IS NULL
+        """)
+    int claimPendingRequest(
+            @Param("id") Long id,
+            @Param("mechanic") User mechanic,
+            @Param("status") RequestStatus status,
+            @Param("estimatedArrival") LocalDateTime estimatedArrival,
+            @Param("now") LocalDateTime now
+    );
+
     @Query("""
         SELECT sr FROM ServiceRequest sr
         LEFT JOIN FETCH sr.user
@@ -2,33 +2,57 @@ package com.roadtech.security;
 
 import com.roadtech.entity.User;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+// Built from the User row at login, otherwise from access token claims with no password
 @Getter
-@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private static final Map<User.UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(User.UserRole.class);
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    static {
+        for (User.UserRole role : User.UserRole.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final Long userId;
+    private final String email;
+    private final User.UserRole role;
+    private final String password;
+    private final boolean active;
+
+    public CustomUserDetails(User user) {
+        this(user.getId(), user.getEmail(), user.getRole(), user.getPassword(), user.getIsActive());
+    }
+
+    public CustomUserDetails(Long userId, String email, User.UserRole role) {
+        this(userId, email, role, null, true);
+    }
+
+    private CustomUserDetails(Long userId, String email, User.UserRole role, String password, boolean active) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        this.active = active;
     }
 
     @Override
-    public String getPassword() {
-        return user.getPassword();
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -38,7 +62,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return user.getIsActive();
+        return active;
     }
 
     @Override
@@ -48,14 +72,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getIsActive();
-    }
-
-    public Long getUserId() {
-        return user.getId();
-    }
-
-    public User.UserRole getRole() {
-        return user.getRole();
+        return active;
     }
 }
@@ -2,7 +2,9 @@ package com.roadtech.security;
 
 import com.roadtech.entity.User;
 import com.roadtech.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final RevokedUserRegistry revokedUserRegistry;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -20,4 +23,20 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return new CustomUserDetails(user);
     }
+
+    // Principal for an already verified access token, without a database read
+    public CustomUserDetails loadUserFromClaims(Claims claims) {
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+
+        // Token issued before access tokens carried these claims
+        if (userId == null || role == null) {
+            return (CustomUserDetails) loadUserByUsername(claims.getSubject());
+        }
+
+        if (revokedUserRegistry.isRevoked(userId)) {
+            throw new DisabledException("User is deactivated");
+        }
+        return new CustomUserDetails(userId, claims.getSubject(), User.UserRole.valueOf(role));
+    }
 }
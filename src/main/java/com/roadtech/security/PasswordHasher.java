@@ -0,0 +1,99 @@
+package com.roadtech.security;
+
+import com.roadtech.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// BCrypt runs on a bounded pool off the request threads; work beyond the queue is shed with a 503
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+
+    // 0 means half the available processors, leaving the rest for request handling
+    @Value("${security.password.workers:0}")
+    private int workers;
+
+    @Value("${security.password.queue-capacity:200}")
+    private int queueCapacity;
+
+    private final LongAdder shed = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+    private String dummyHash;
+
+    @PostConstruct
+    public void start() {
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIds = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Carries a fresh hash when the stored one uses a lower work factor; unknown users are timed like known ones
+    public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+        return submit(() -> {
+            boolean matches = passwordEncoder.matches(rawPassword, storedHash != null ? storedHash : dummyHash)
+                    && storedHash != null;
+
+            String upgradedHash = matches && passwordEncoder.upgradeEncoding(storedHash)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new Verification(matches, upgradedHash);
+        });
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            shed.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new ServiceUnavailableException("Too many sign-in attempts right now, please retry shortly");
+        }
+    }
+
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.roadtech.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Runs after JwtAuthFilter so authenticated callers are limited per user, anonymous ones per client address
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RateLimiter.RouteClass routeClass = classify(request.getRequestURI().substring(request.getContextPath().length()));
+
+        if (routeClass != null && !rateLimiter.tryAcquire(routeClass, clientKey(request))) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.RouteClass classify(String path) {
+        if (path.startsWith("/auth/")) {
+            return RateLimiter.RouteClass.AUTH;
+        }
+        if (path.startsWith("/mechanic/location")) {
+            return RateLimiter.RouteClass.LOCATION;
+        }
+        if (path.startsWith("/parts/")) {
+            return RateLimiter.RouteClass.SEARCH;
+        }
+        return null;
+    }
+
+    private Object clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getUserId();
+        }
+        // Already resolved from X-Forwarded-For by Tomcat, which only trusts server.tomcat.remoteip.internal-proxies
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,181 @@
+package com.roadtech.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per route class in lock-striped maps; fully refilled buckets are swept to bound memory
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter {
+
+    public enum RouteClass {
+        AUTH, LOCATION, SEARCH
+    }
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // Rounded up to a power of two
+    @Value("${rate-limit.stripes:64}")
+    private int stripeCount;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-second:0.2}")
+    private double authRefillPerSecond;
+
+    @Value("${rate-limit.location.capacity:10}")
+    private int locationCapacity;
+
+    @Value("${rate-limit.location.refill-per-second:2}")
+    private double locationRefillPerSecond;
+
+    @Value("${rate-limit.search.capacity:30}")
+    private int searchCapacity;
+
+    @Value("${rate-limit.search.refill-per-second:5}")
+    private double searchRefillPerSecond;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RouteClass, Limiter> limiters = new EnumMap<>(RouteClass.class);
+
+    @PostConstruct
+    public void init() {
+        int stripes = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        limiters.put(RouteClass.AUTH, new Limiter(stripes, authCapacity, authRefillPerSecond));
+        limiters.put(RouteClass.LOCATION, new Limiter(stripes, locationCapacity, locationRefillPerSecond));
+        limiters.put(RouteClass.SEARCH, new Limiter(stripes, searchCapacity, searchRefillPerSecond));
+
+        limiters.forEach((routeClass, limiter) -> {
+            String route = routeClass.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("rate_limit.rejected", limiter, l -> l.rejected.sum())
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", route)
+                    .register(meterRegistry);
+            Gauge.builder("rate_limit.tracked_keys", limiter, Limiter::size)
+                    .description("Buckets currently held by the rate limiter")
+                    .tag("route", route)
+                    .register(meterRegistry);
+        });
+    }
+
+    // key is a user id (Long) or a client address (String)
+    public boolean tryAcquire(RouteClass routeClass, Object key) {
+        return !enabled || limiters.get(routeClass).tryAcquire(key);
+    }
+
+    public long getRejectedCount(RouteClass routeClass) {
+        return limiters.get(routeClass).rejected.sum();
+    }
+
+    public int getTrackedKeyCount(RouteClass routeClass) {
+        return limiters.get(routeClass).size();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> limiter.sweep(now));
+    }
+
+    private static final class Limiter {
+
+        private final Stripe[] stripes;
+        private final int mask;
+        private final double capacity;
+        private final double refillPerNano;
+        private final long fullRefillNanos;
+        private final LongAdder rejected = new LongAdder();
+
+        Limiter(int stripeCount, int capacity, double refillPerSecond) {
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe();
+            }
+            this.mask = stripeCount - 1;
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.fullRefillNanos = (long) Math.ceil(capacity / refillPerNano);
+        }
+
+        boolean tryAcquire(Object key) {
+            int hash = key.hashCode();
+            Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+            long now = System.nanoTime();
+
+            synchronized (stripe) {
+                Bucket bucket = stripe.buckets.get(key);
+                if (bucket == null) {
+                    stripe.buckets.put(key, new Bucket(capacity - 1, now));
+                    return true;
+                }
+
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAtNanos) * refillPerNano);
+                bucket.refilledAtNanos = now;
+                if (bucket.tokens >= 1) {
+                    bucket.tokens -= 1;
+                    return true;
+                }
+            }
+
+            rejected.increment();
+            return false;
+        }
+
+        void sweep(long now) {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    Iterator<Bucket> buckets = stripe.buckets.values().iterator();
+                    while (buckets.hasNext()) {
+                        if (now - buckets.next().refilledAtNanos >= fullRefillNanos) {
+                            buckets.remove();
+                        }
+                    }
+                }
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.buckets.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<Object, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAtNanos;
+
+        Bucket(double tokens, long refilledAtNanos) {
+            this.tokens = tokens;
+            this.refilledAtNanos = refilledAtNanos;
+        }
+    }
+}
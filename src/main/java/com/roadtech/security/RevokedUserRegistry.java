@@ -0,0 +1,88 @@
+package com.roadtech.security;
+
+import com.roadtech.entity.RevokedUser;
+import com.roadtech.repository.RevokedUserRepository;
+import com.roadtech.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Users whose unexpired access tokens must no longer be honoured, since requests authenticate from claims alone
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedUserRegistry {
+
+    private final UserRepository userRepository;
+    private final RevokedUserRepository revokedUserRepository;
+
+    @Value("${jwt.access-token-expiration}")
+    private long accessTokenExpiration;
+
+    private final Set<Long> revoked = ConcurrentHashMap.newKeySet();
+
+    // Deletions older than the access token lifetime can no longer have a live token
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(accessTokenExpiration * 1_000_000);
+        revokedUserRepository.deleteRevokedBefore(cutoff);
+
+        revoked.addAll(userRepository.findInactiveUserIds());
+        revoked.addAll(revokedUserRepository.findUserIdsRevokedAfter(cutoff));
+        log.info("Loaded {} revoked users", revoked.size());
+    }
+
+    public void revoke(Long userId) {
+        revoked.add(userId);
+    }
+
+    // A rolled-back deactivation must not lock the user out
+    public void revokeAfterCommit(Long userId) {
+        afterCommit(() -> revoke(userId));
+    }
+
+    // Joins the caller's transaction, so the marker commits together with the user delete
+    public void revokeDeleted(Long userId) {
+        revokedUserRepository.save(RevokedUser.builder()
+                .userId(userId)
+                .revokedAt(LocalDateTime.now())
+                .build());
+        revokeAfterCommit(userId);
+    }
+
+    public void restore(Long userId) {
+        revoked.remove(userId);
+    }
+
+    public void restoreAfterCommit(Long userId) {
+        afterCommit(() -> restore(userId));
+    }
+
+    public boolean isRevoked(Long userId) {
+        return revoked.contains(userId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.roadtech.entity.*;
 import com.roadtech.entity.User.UserRole;
 import com.roadtech.exception.ResourceNotFoundException;
 import com.roadtech.repository.*;
+import com.roadtech.security.RateLimiter;
+import com.roadtech.security.RevokedUserRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,8 +25,30 @@ public class AdminService {
     private final UserRepository userRepository;
     private final MechanicProfileRepository mechanicProfileRepository;
     private final PartsProviderRepository partsProviderRepository;
+    private final PartRepository partRepository;
+    private final PartSearchIndex partSearchIndex;
     private final ServiceRequestRepository serviceRequestRepository;
     private final SystemLogRepository systemLogRepository;
+    private final MechanicLocationIndex mechanicLocationIndex;
+    private final RequestCellTopics requestCellTopics;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final RateLimiter rateLimiter;
+    private final DispatchEngine dispatchEngine;
+
+    public DispatchStatsDto getDispatchStats() {
+        return dispatchEngine.getStats();
+    }
+
+    public RateLimitStatsDto getRateLimitStats() {
+        return RateLimitStatsDto.builder()
+                .authRejected(rateLimiter.getRejectedCount(RateLimiter.RouteClass.AUTH))
+                .locationRejected(rateLimiter.getRejectedCount(RateLimiter.RouteClass.LOCATION))
+                .searchRejected(rateLimiter.getRejectedCount(RateLimiter.RouteClass.SEARCH))
+                .authTrackedKeys(rateLimiter.getTrackedKeyCount(RateLimiter.RouteClass.AUTH))
+                .locationTrackedKeys(rateLimiter.getTrackedKeyCount(RateLimiter.RouteClass.LOCATION))
+                .searchTrackedKeys(rateLimiter.getTrackedKeyCount(RateLimiter.RouteClass.SEARCH))
+                .build();
+    }
 
     @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStats() {
@@ -97,6 +121,17 @@ public class AdminService {
         user.setIsActive(!user.getIsActive());
         user = userRepository.save(user);
 
+        if (user.getIsActive()) {
+            revokedUserRegistry.restoreAfterCommit(user.getId());
+        } else {
+            revokedUserRegistry.revokeAfterCommit(user.getId());
+            requestCellTopics.untrack(user.getId());
+        }
+
+        if (user.getMechanicProfile() != null) {
+            mechanicLocationIndex.refreshAfterCommit(user.getMechanicProfile());
+        }
+
         logAction(SystemLog.LogLevel.INFO, "USER_STATUS_CHANGED", 
                 "User " + user.getEmail() + " status changed to " + user.getIsActive());
 
@@ -108,7 +143,15 @@ public class AdminService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", id));
         
+        // A provider's parts go with it through ON DELETE CASCADE, which the index never sees
+        if (user.getRole() == UserRole.PARTS_PROVIDER) {
+            partRepository.findIdsByProviderUserId(id).forEach(partSearchIndex::removeAfterCommit);
+        }
+
         userRepository.delete(user);
+        revokedUserRegistry.revokeDeleted(id);
+        mechanicLocationIndex.removeAfterCommit(id);
+        requestCellTopics.untrack(id);
         logAction(SystemLog.LogLevel.INFO, "USER_DELETED", "User " + user.getEmail() + " deleted");
     }
 
@@ -127,6 +170,7 @@ public class AdminService {
         
         profile.setIsVerified(true);
         profile = mechanicProfileRepository.save(profile);
+        mechanicLocationIndex.refreshAfterCommit(profile);
 
         logAction(SystemLog.LogLevel.INFO, "MECHANIC_VERIFIED", 
                 "Mechanic " + profile.getUser().getEmail() + " verified. Reason: " + dto.getReason());
@@ -141,6 +185,7 @@ public class AdminService {
         
         profile.setIsVerified(false);
         profile = mechanicProfileRepository.save(profile);
+        mechanicLocationIndex.refreshAfterCommit(profile);
 
         logAction(SystemLog.LogLevel.WARN, "MECHANIC_REJECTED", 
                 "Mechanic " + profile.getUser().getEmail() + " rejected. Reason: " + dto.getReason());
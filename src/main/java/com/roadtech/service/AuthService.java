@@ -1,14 +1,14 @@
 package com.roadtech.service;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.roadtech.dto.UserDto;
 import com.roadtech.dto.auth.AuthResponse;
@@ -16,17 +16,17 @@ import com.roadtech.dto.auth.LoginRequest;
 import com.roadtech.dto.auth.RegisterRequest;
 import com.roadtech.entity.MechanicProfile;
 import com.roadtech.entity.PartsProvider;
-import com.roadtech.entity.RefreshToken;
 import com.roadtech.entity.User;
 import com.roadtech.entity.User.UserRole;
 import com.roadtech.exception.BadRequestException;
+import com.roadtech.exception.ServiceUnavailableException;
 import com.roadtech.exception.UnauthorizedException;
 import com.roadtech.repository.MechanicProfileRepository;
 import com.roadtech.repository.PartsProviderRepository;
-import com.roadtech.repository.RefreshTokenRepository;
 import com.roadtech.repository.UserRepository;
 import com.roadtech.security.CustomUserDetails;
 import com.roadtech.security.JwtService;
+import com.roadtech.security.PasswordHasher;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,21 +38,77 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final MechanicProfileRepository mechanicProfileRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final TransactionTemplate transactionTemplate;
     private final PartsProviderRepository partsProviderRepository;
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    // Database work after hashing, so the hasher threads only ever run BCrypt
+    private final ThreadPoolTaskExecutor authTaskExecutor;
+
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already registered");
         }
 
+        if (request.getRole() == UserRole.PARTS_PROVIDER
+                && (request.getShopName() == null || request.getAddress() == null)) {
+            throw new BadRequestException("Shop details are required");
+        }
+
+        return shedWhenSaturated(passwordHasher.encode(request.getPassword())
+                .thenApplyAsync(passwordHash -> transactionTemplate.execute(status -> createUser(request, passwordHash)),
+                        authTaskExecutor));
+    }
+
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        User user = userRepository.findByEmailAndIsActiveTrue(request.getEmail()).orElse(null);
+
+        return shedWhenSaturated(passwordHasher.verify(request.getPassword(), user != null ? user.getPassword() : null)
+                .thenApplyAsync(verification -> {
+                    if (!verification.matches()) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+
+                    return transactionTemplate.execute(status -> {
+                        if (verification.upgradedHash() != null) {
+                            userRepository.updatePassword(user.getId(), verification.upgradedHash());
+                        }
+                        return generateAuthResponse(user);
+                    });
+                }, authTaskExecutor));
+    }
+
+    // A full database queue sheds the request with a 503, like a full hasher queue does
+    private static <T> CompletableFuture<T> shedWhenSaturated(CompletableFuture<T> future) {
+        return future.exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof RejectedExecutionException) {
+                log.warn("Auth database queue full, rejecting request");
+                return CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Too many sign-in attempts right now, please retry shortly"));
+            }
+            return CompletableFuture.failedFuture(ex);
+        });
+    }
+
+    // A detected token reuse revokes the family, which must commit even though the call fails
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponse refreshToken(String refreshTokenStr) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenStr);
+        return generateAuthResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    @Transactional
+    public void logout(String refreshTokenStr) {
+        refreshTokenService.revoke(refreshTokenStr);
+    }
+
+    private AuthResponse createUser(RegisterRequest request, String passwordHash) {
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .fullName(request.getFullName())
                 .phone(request.getPhone())
                 .role(request.getRole())
@@ -73,17 +129,12 @@ public class AuthService {
 
         // // ✅ PARTS PROVIDER PROFILE
         if (request.getRole() == UserRole.PARTS_PROVIDER) {
-
-            if (request.getShopName() == null || request.getAddress() == null) {
-                throw new BadRequestException("Shop details are required");
-            }
-
             PartsProvider provider = PartsProvider.builder()
                     .user(user)
                     .shopName(request.getShopName())
                     .address(request.getAddress())
-                    .latitude(BigDecimal.valueOf(request.getLatitude()))
-                    .longitude(BigDecimal.valueOf(request.getLongitude()))
+                    .latitude(request.getLatitude())
+                    .longitude(request.getLongitude())
                     .phone(request.getPhone())
                     .openingTime(request.getOpeningTime())
                     .closingTime(request.getClosingTime())
@@ -97,47 +148,14 @@ public class AuthService {
         return generateAuthResponse(user);
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
-
-        User user = userRepository.findByEmailAndIsActiveTrue(request.getEmail())
-                .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
-
-        return generateAuthResponse(user);
-    }
-
-    @Transactional
-    public AuthResponse refreshToken(String refreshTokenStr) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenStr)
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
-
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new UnauthorizedException("Refresh token expired");
-        }
-
-        User user = refreshToken.getUser();
-
-        // Delete old refresh token
-        refreshTokenRepository.delete(refreshToken);
-
-        return generateAuthResponse(user);
-    }
-
-    @Transactional
-    public void logout(String refreshTokenStr) {
-        refreshTokenRepository.findByToken(refreshTokenStr)
-                .ifPresent(refreshTokenRepository::delete);
+    private AuthResponse generateAuthResponse(User user) {
+        return generateAuthResponse(user, refreshTokenService.issue(user));
     }
 
-    private AuthResponse generateAuthResponse(User user) {
+    private AuthResponse generateAuthResponse(User user, String refreshTokenStr) {
         CustomUserDetails userDetails = new CustomUserDetails(user);
 
         String accessToken = jwtService.generateAccessToken(userDetails);
-        String refreshTokenStr = generateRefreshToken(user);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -145,17 +163,4 @@ public class AuthService {
                 .user(UserDto.fromEntity(user))
                 .build();
     }
-
-    private String generateRefreshToken(User user) {
-        String tokenValue = UUID.randomUUID().toString();
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(tokenValue)
-                .expiresAt(LocalDateTime.now().plusSeconds(jwtService.getRefreshTokenExpiration() / 1000))
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
-        return tokenValue;
-    }
 }
@@ -0,0 +1,51 @@
+package com.roadtech.service;
+
+import java.util.Locale;
+
+// Box around a search circle, range-scanned before the exact great-circle check
+public record BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+
+    // Same sphere as the haversine checks, so the box always encloses their circle
+    private static final double KM_PER_DEGREE = 6371.0 * Math.PI / 180.0;
+
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        BoundingBox box = unwrapped(latitude, longitude, radiusKm);
+
+        // Boxes crossing the antimeridian fall back to the full longitude range
+        if (box.minLng < -180.0 || box.maxLng > 180.0) {
+            return new BoundingBox(box.minLat, box.maxLat, -180.0, 180.0);
+        }
+        return box;
+    }
+
+    // Longitudes may run past +/-180 here, for callers that wrap them themselves
+    public static BoundingBox unwrapped(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - dLat);
+        double maxLat = Math.min(90.0, latitude + dLat);
+
+        // Longitude degrees shrink towards the poles; use the widest point of the box
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        if (widestCos <= 0.0 || radiusKm / (KM_PER_DEGREE * widestCos) >= 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+
+        double dLng = radiusKm / (KM_PER_DEGREE * widestCos);
+        return new BoundingBox(minLat, maxLat, longitude - dLng, longitude + dLng);
+    }
+
+    public boolean coversAllLongitudes() {
+        return minLng <= -180.0 && maxLng >= 180.0;
+    }
+
+    // Closed ring in longitude-latitude order, for ST_GeomFromText(..., 'axis-order=long-lat')
+    public String toPolygonWkt() {
+        return String.format(Locale.ROOT,
+                "POLYGON((%.8f %.8f, %.8f %.8f, %.8f %.8f, %.8f %.8f, %.8f %.8f))",
+                minLng, minLat,
+                maxLng, minLat,
+                maxLng, maxLat,
+                minLng, maxLat,
+                minLng, minLat);
+    }
+}
@@ -0,0 +1,372 @@
+package com.roadtech.service;
+
+import com.roadtech.dto.admin.DispatchStatsDto;
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.ServiceRequest;
+import com.roadtech.entity.ServiceRequest.IssueType;
+import com.roadtech.exception.BadRequestException;
+import com.roadtech.exception.ConflictException;
+import com.roadtech.exception.ResourceNotFoundException;
+import com.roadtech.repository.MechanicProfileRepository;
+import com.roadtech.repository.ServiceRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Assigns pending requests to free mechanics as one min-cost matching over ETA
+// Leaving a request unassigned costs more the more urgent it is and the longer it waited
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchEngine {
+
+    // Extra minutes of ETA worth tolerating to serve an issue ahead of OTHER
+    private static final Map<IssueType, Double> PRIORITY_BONUS = new EnumMap<>(Map.of(
+            IssueType.ACCIDENT, 60.0,
+            IssueType.ENGINE_FAILURE, 20.0,
+            IssueType.LOCKED_OUT, 15.0,
+            IssueType.BATTERY_DEAD, 10.0,
+            IssueType.FLAT_TIRE, 10.0,
+            IssueType.OUT_OF_FUEL, 10.0,
+            IssueType.OTHER, 0.0
+    ));
+
+    private static final double FORBIDDEN = 1e9;
+
+    private final ServiceRequestRepository serviceRequestRepository;
+    private final MechanicProfileRepository mechanicProfileRepository;
+    private final MechanicLocationIndex mechanicLocationIndex;
+    private final MechanicLocationBuffer mechanicLocationBuffer;
+    private final LocationService locationService;
+    private final MechanicService mechanicService;
+
+    @Value("${dispatch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dispatch.max-requests:200}")
+    private int maxRequests;
+
+    @Value("${dispatch.candidates-per-request:10}")
+    private int candidatesPerRequest;
+
+    @Value("${dispatch.max-eta-minutes:60}")
+    private double maxEtaMinutes;
+
+    // Road-network ETAs are used for the first half, straight-line ones after that
+    @Value("${dispatch.time-budget-ms:1000}")
+    private long timeBudgetMs;
+
+    @Value("${dispatch.age-weight:0.5}")
+    private double ageWeight;
+
+    @Value("${dispatch.specialization-factor:0.8}")
+    private double specializationFactor;
+
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder budgetExceeded = new LongAdder();
+    private final LongAdder assignments = new LongAdder();
+    private final LongAdder failedAssignments = new LongAdder();
+    private final LongAdder specializationMatches = new LongAdder();
+    private final DoubleAdder assignedEtaMinutes = new DoubleAdder();
+    private final AtomicLong lastCycleMillis = new AtomicLong();
+    private final AtomicLong maxCycleMillis = new AtomicLong();
+    private volatile int lastPending;
+    private volatile int lastMechanics;
+    private volatile int lastUnassigned;
+
+    @Scheduled(fixedDelayString = "${dispatch.interval-ms:5000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            dispatch(start);
+        } catch (DataAccessException e) {
+            log.error("Dispatch cycle failed: {}", e.getMessage());
+        } finally {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            lastCycleMillis.set(millis);
+            maxCycleMillis.accumulateAndGet(millis, Math::max);
+            cycles.increment();
+        }
+    }
+
+    public DispatchStatsDto getStats() {
+        long assigned = assignments.sum();
+        return DispatchStatsDto.builder()
+                .enabled(enabled)
+                .cycles(cycles.sum())
+                .budgetExceededCycles(budgetExceeded.sum())
+                .lastCycleMillis(lastCycleMillis.get())
+                .maxCycleMillis(maxCycleMillis.get())
+                .lastPendingRequests(lastPending)
+                .lastAvailableMechanics(lastMechanics)
+                .lastUnassignedRequests(lastUnassigned)
+                .totalAssignments(assigned)
+                .failedAssignments(failedAssignments.sum())
+                .averageAssignedEtaMinutes(assigned == 0 ? 0.0 : assignedEtaMinutes.sum() / assigned)
+                .specializationMatchRate(assigned == 0 ? 0.0 : (double) specializationMatches.sum() / assigned)
+                .build();
+    }
+
+    private void dispatch(long start) {
+        long deadline = start + timeBudgetMs * 1_000_000;
+        long routingDeadline = start + timeBudgetMs * 500_000;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ServiceRequest> pending = serviceRequestRepository.findPendingRequestsWithoutMechanic();
+        lastPending = pending.size();
+        if (pending.isEmpty() || mechanicLocationIndex.size() == 0) {
+            lastMechanics = 0;
+            lastUnassigned = pending.size();
+            return;
+        }
+
+        // Most urgent first, so a cycle cut short by the budget still serves them
+        Map<Long, Double> penalties = new HashMap<>();
+        pending.forEach(r -> penalties.put(r.getId(), unassignedPenalty(r, now)));
+        List<ServiceRequest> requests = pending.stream()
+                .sorted(Comparator.comparing((ServiceRequest r) -> penalties.get(r.getId())).reversed())
+                .limit(maxRequests)
+                .toList();
+
+        List<List<Long>> candidates = new ArrayList<>(requests.size());
+        Set<Long> candidateIds = new LinkedHashSet<>();
+        for (ServiceRequest request : requests) {
+            List<Long> nearest = mechanicLocationIndex.findNearest(
+                    request.getLatitude(), request.getLongitude(), candidatesPerRequest);
+            candidates.add(nearest);
+            candidateIds.addAll(nearest);
+        }
+        if (candidateIds.isEmpty()) {
+            lastMechanics = 0;
+            lastUnassigned = pending.size();
+            return;
+        }
+
+        Set<Long> busy = new HashSet<>(serviceRequestRepository.findBusyMechanicIds(candidateIds));
+        Map<Long, Integer> column = new HashMap<>();
+        List<MechanicProfile> mechanics = new ArrayList<>();
+        for (MechanicProfile profile : mechanicProfileRepository.findByUserIdIn(candidateIds)) {
+            Long userId = profile.getUser().getId();
+            if (busy.contains(userId)) {
+                continue;
+            }
+            mechanicLocationBuffer.applyTo(profile);
+            if (profile.getCurrentLatitude() == null || profile.getCurrentLongitude() == null) {
+                continue;
+            }
+            column.put(userId, mechanics.size());
+            mechanics.add(profile);
+        }
+        lastMechanics = mechanics.size();
+
+        int rows = requests.size();
+        int cols = mechanics.size() + rows;
+        double[][] cost = new double[rows][cols];
+        double[][] eta = new double[rows][mechanics.size()];
+        boolean[][] specialized = new boolean[rows][mechanics.size()];
+
+        // Reused per row for the batched straight-line distances
+        double maxDistanceKm = locationService.maxDistanceKm(maxEtaMinutes);
+        int[] rowColumns = new int[candidatesPerRequest];
+        double[] latitudes = new double[candidatesPerRequest];
+        double[] longitudes = new double[candidatesPerRequest];
+        double[] distancesKm = new double[candidatesPerRequest];
+
+        for (int i = 0; i < rows; i++) {
+            ServiceRequest request = requests.get(i);
+            Arrays.fill(cost[i], 0, mechanics.size(), FORBIDDEN);
+            Arrays.fill(cost[i], mechanics.size(), cols, penalties.get(request.getId()));
+
+            int count = 0;
+            for (Long userId : candidates.get(i)) {
+                Integer j = column.get(userId);
+                if (j == null) {
+                    continue;
+                }
+                rowColumns[count] = j;
+                latitudes[count] = mechanics.get(j).getCurrentLatitude();
+                longitudes[count] = mechanics.get(j).getCurrentLongitude();
+                count++;
+            }
+
+            boolean useRoads = System.nanoTime() < routingDeadline;
+            if (!useRoads) {
+                locationService.calculateDistances(request.getLatitude(), request.getLongitude(),
+                        latitudes, longitudes, distancesKm, count, maxDistanceKm);
+            }
+            for (int k = 0; k < count; k++) {
+                // Already past the straight-line cutoff
+                if (!useRoads && distancesKm[k] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int j = rowColumns[k];
+                MechanicProfile mechanic = mechanics.get(j);
+                double minutes = useRoads
+                        ? locationService.estimateArrivalMinutes(
+                                mechanic.getCurrentLatitude(), mechanic.getCurrentLongitude(),
+                                request.getLatitude(), request.getLongitude())
+                        : locationService.estimateArrivalMinutes(distancesKm[k]);
+                if (minutes > maxEtaMinutes) {
+                    continue;
+                }
+
+                boolean matches = hasSpecialization(mechanic, request.getIssueType());
+                eta[i][j] = minutes;
+                specialized[i][j] = matches;
+                cost[i][j] = matches ? minutes * specializationFactor : minutes;
+            }
+        }
+
+        int[] assignment = solve(cost, deadline);
+
+        int unassigned = pending.size() - rows;
+        for (int i = 0; i < rows; i++) {
+            int j = assignment[i];
+            if (j < 0 || j >= mechanics.size() || cost[i][j] >= FORBIDDEN) {
+                unassigned++;
+                continue;
+            }
+
+            ServiceRequest request = requests.get(i);
+            Long mechanicUserId = mechanics.get(j).getUser().getId();
+            try {
+                mechanicService.dispatchRequest(request.getId(), mechanicUserId);
+                assignments.increment();
+                assignedEtaMinutes.add(eta[i][j]);
+                if (specialized[i][j]) {
+                    specializationMatches.increment();
+                }
+            } catch (BadRequestException | ConflictException | ResourceNotFoundException e) {
+                // Accepted, cancelled or gone unavailable since the snapshot; retried next cycle
+                failedAssignments.increment();
+                unassigned++;
+                log.debug("Could not dispatch request {} to mechanic {}: {}",
+                        request.getId(), mechanicUserId, e.getMessage());
+            }
+        }
+        lastUnassigned = unassigned;
+
+        log.info("Dispatch cycle: {} pending, {} free candidates, {} left unassigned",
+                pending.size(), mechanics.size(), unassigned);
+    }
+
+    private double unassignedPenalty(ServiceRequest request, LocalDateTime now) {
+        double waitedMinutes = request.getCreatedAt() == null
+                ? 0
+                : Math.max(0, Duration.between(request.getCreatedAt(), now).toSeconds() / 60.0);
+        double priority = request.getIssueType() == null ? 0 : PRIORITY_BONUS.get(request.getIssueType());
+        return maxEtaMinutes + priority + ageWeight * waitedMinutes;
+    }
+
+    private static boolean hasSpecialization(MechanicProfile mechanic, IssueType issueType) {
+        if (issueType == null || mechanic.getSpecializations() == null) {
+            return false;
+        }
+        String wanted = normalize(issueType.name());
+        return mechanic.getSpecializations().stream()
+                .anyMatch(s -> s != null && normalize(s).equals(wanted));
+    }
+
+    // "Flat tire", "flat-tire" and FLAT_TIRE all compare equal
+    private static String normalize(String value) {
+        return value.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Hungarian algorithm for rows <= cols; rows not reached before the deadline get -1
+    // Each completed row leaves an optimal matching of the rows so far, so stopping early stays consistent
+    private int[] solve(double[][] cost, long deadline) {
+        int n = cost.length;
+        int m = cost[0].length;
+
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] owner = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            if (System.nanoTime() > deadline) {
+                budgetExceeded.increment();
+                log.warn("Dispatch budget exhausted after {} of {} requests", i - 1, n);
+                break;
+            }
+
+            owner[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[j0] = true;
+                int i0 = owner[j0];
+                int j1 = 0;
+                double delta = Double.POSITIVE_INFINITY;
+
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double current = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                    if (current < minv[j]) {
+                        minv[j] = current;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[owner[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (owner[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                owner[j0] = owner[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= m; j++) {
+            if (owner[j] != 0) {
+                assignment[owner[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
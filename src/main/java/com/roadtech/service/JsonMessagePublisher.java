@@ -0,0 +1,59 @@
+package com.roadtech.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collection;
+
+// Sends pre-encoded payloads, so a message for several destinations is serialized once
+@Component
+@RequiredArgsConstructor
+public class JsonMessagePublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public byte[] encode(Object message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notification", e);
+        }
+    }
+
+    public void publish(Object message, String destination) {
+        send(encode(message), destination);
+    }
+
+    public void send(byte[] payload, String destination) {
+        send(payload, destination, MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    // Bypasses the converters, which would turn a byte[] into a base64 JSON string
+    public void send(byte[] payload, String destination, MimeType contentType) {
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers(contentType)));
+    }
+
+    public void send(byte[] payload, Collection<String> destinations) {
+        for (String destination : destinations) {
+            send(payload, destination);
+        }
+    }
+
+    // A mutable accessor makes the template keep these headers as-is; one per send, it gets the destination
+    private static MessageHeaders headers(MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+}
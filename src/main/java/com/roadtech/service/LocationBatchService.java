@@ -0,0 +1,230 @@
+package com.roadtech.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.roadtech.dto.mechanic.LocationBatchPointDto;
+import com.roadtech.dto.mechanic.LocationBatchResultDto;
+import com.roadtech.exception.BadRequestException;
+import com.roadtech.repository.MechanicProfileRepository;
+import com.roadtech.websocket.LocationWireFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams a batch in one pass, keeps the newest point per mechanic and never replaces a newer stored fix
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationBatchService {
+
+    private final MechanicProfileRepository mechanicProfileRepository;
+    private final MechanicLocationBuffer mechanicLocationBuffer;
+    private final MechanicLocationIndex mechanicLocationIndex;
+    private final LocationPingFilter locationPingFilter;
+    private final RequestCellTopics requestCellTopics;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${location.batch.max-points:50000}")
+    private int maxPoints;
+
+    // Points stamped further than this in the future are rejected
+    @Value("${location.batch.max-clock-skew-ms:60000}")
+    private long maxClockSkewMs;
+
+    // Unless fleet is set, every point must belong to the uploader
+    public LocationBatchResultDto ingestNdjson(Long uploaderId, boolean fleet, InputStream body) {
+        Batch batch = new Batch(uploaderId, fleet);
+        ObjectReader reader = objectMapper.readerFor(LocationBatchPointDto.class);
+
+        try (MappingIterator<LocationBatchPointDto> points = reader.readValues(body)) {
+            while (points.hasNextValue()) {
+                LocationBatchPointDto point = points.nextValue();
+                if (point.getLatitude() == null || point.getLongitude() == null || point.getRecordedAt() == null) {
+                    batch.reject();
+                    continue;
+                }
+                batch.add(point.getMechanicId(), point.getLatitude(), point.getLongitude(), point.getRecordedAt());
+            }
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof BadRequestException badRequest) {
+                throw badRequest;
+            }
+            throw new BadRequestException("Malformed location batch after " + batch.received + " points");
+        }
+
+        return apply(batch);
+    }
+
+    public LocationBatchResultDto ingestBinary(Long uploaderId, boolean fleet, InputStream body) {
+        Batch batch = new Batch(uploaderId, fleet);
+        byte[] record = new byte[LocationWireFormat.BATCH_POINT_LENGTH];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+
+        try (InputStream in = new BufferedInputStream(body)) {
+            int read;
+            while ((read = in.readNBytes(record, 0, record.length)) == record.length) {
+                long mechanicId = buffer.getLong(0);
+                batch.add(
+                        mechanicId == 0 ? null : mechanicId,
+                        buffer.getInt(8) / LocationWireFormat.E7,
+                        buffer.getInt(12) / LocationWireFormat.E7,
+                        buffer.getLong(16)
+                );
+            }
+            if (read != 0) {
+                throw new BadRequestException("Location batch ends with a truncated point");
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read location batch");
+        }
+
+        return apply(batch);
+    }
+
+    private LocationBatchResultDto apply(Batch batch) {
+        Map<Long, Long> storedFixes = loadStoredFixes(batch);
+        int rejected = batch.rejected;
+        int superseded = batch.superseded;
+        int updated = 0;
+
+        for (Map.Entry<Long, Newest> entry : batch.newest.entrySet()) {
+            Long userId = entry.getKey();
+            Newest point = entry.getValue();
+
+            // No mechanic profile behind this id
+            if (!storedFixes.containsKey(userId)) {
+                rejected += point.count;
+                superseded -= point.count - 1;
+                continue;
+            }
+            Long storedAt = storedFixes.get(userId);
+            if ((storedAt != null && storedAt >= point.recordedAt)
+                    || !mechanicLocationBuffer.recordIfNewer(userId, point.latitude, point.longitude, point.recordedAt)) {
+                superseded++;
+                continue;
+            }
+
+            mechanicLocationIndex.move(userId, point.latitude, point.longitude);
+            // The live filter's smoothed position is older than this fix now
+            locationPingFilter.reset(userId);
+
+            // Deactivated or unavailable mechanics are not in the index and get no request topic
+            if (mechanicLocationIndex.contains(userId)) {
+                String requestTopic = requestCellTopics.track(userId, point.latitude, point.longitude);
+                if (requestTopic != null) {
+                    notificationService.notifyRequestTopicChanged(userId, requestTopic);
+                }
+            } else {
+                requestCellTopics.untrack(userId);
+            }
+            updated++;
+        }
+
+        log.debug("Location batch: {} points, {} rejected, {} mechanics updated", batch.received, rejected, updated);
+
+        return LocationBatchResultDto.builder()
+                .received(batch.received)
+                .rejected(rejected)
+                .superseded(superseded)
+                .mechanicsUpdated(updated)
+                .build();
+    }
+
+    // user id -> stored fix time in epoch ms (null when never located), only for existing profiles
+    private Map<Long, Long> loadStoredFixes(Batch batch) {
+        if (batch.newest.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object[]> rows = mechanicProfileRepository.findLocationTimestamps(batch.newest.keySet());
+        Map<Long, Long> fixes = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            LocalDateTime updatedAt = (LocalDateTime) row[1];
+            fixes.put((Long) row[0],
+                    updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null);
+        }
+        return fixes;
+    }
+
+    // Validates points as they stream in and keeps the newest per mechanic; the rest count as superseded
+    private final class Batch {
+
+        private final Long uploaderId;
+        private final boolean fleet;
+        private final long latestAllowed = System.currentTimeMillis() + maxClockSkewMs;
+        private final Map<Long, Newest> newest = new HashMap<>();
+
+        private int received;
+        private int rejected;
+        private int superseded;
+
+        Batch(Long uploaderId, boolean fleet) {
+            this.uploaderId = uploaderId;
+            this.fleet = fleet;
+        }
+
+        void reject() {
+            count();
+            rejected++;
+        }
+
+        void add(Long mechanicId, double latitude, double longitude, long recordedAt) {
+            count();
+
+            Long userId = mechanicId != null ? mechanicId : uploaderId;
+            if ((!fleet && !userId.equals(uploaderId))
+                    || Math.abs(latitude) > 90.0 || Math.abs(longitude) > 180.0
+                    || recordedAt <= 0 || recordedAt > latestAllowed) {
+                rejected++;
+                return;
+            }
+
+            Newest current = newest.get(userId);
+            if (current == null) {
+                newest.put(userId, new Newest(latitude, longitude, recordedAt));
+                return;
+            }
+            current.count++;
+            superseded++;
+            if (recordedAt > current.recordedAt) {
+                current.latitude = latitude;
+                current.longitude = longitude;
+                current.recordedAt = recordedAt;
+            }
+        }
+
+        private void count() {
+            if (++received > maxPoints) {
+                throw new BadRequestException("Location batch exceeds " + maxPoints + " points");
+            }
+        }
+    }
+
+    // Mutable so that a superseded point costs no allocation
+    private static final class Newest {
+
+        private double latitude;
+        private double longitude;
+        private long recordedAt;
+        private int count = 1;
+
+        Newest(double latitude, double longitude, long recordedAt) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.roadtech.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Smooths GPS jitter with an EMA and forwards a position only after enough movement and time
+@Component
+@Slf4j
+public class LocationPingFilter {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    @Value("${location.filter.min-distance-m:15}")
+    private double minDistanceMeters;
+
+    @Value("${location.filter.min-interval-ms:2000}")
+    private long minIntervalMs;
+
+    // A parked mechanic is still forwarded this often so the position stays fresh
+    @Value("${location.filter.max-silence-ms:60000}")
+    private long maxSilenceMs;
+
+    // Weight of the newest ping in the moving average (1.0 disables smoothing)
+    @Value("${location.filter.smoothing-alpha:0.5}")
+    private double smoothingAlpha;
+
+    // Jumps larger than this restart the average instead of dragging it along
+    @Value("${location.filter.reset-distance-m:500}")
+    private double resetDistanceMeters;
+
+    private final Map<Long, TrackState> tracks = new ConcurrentHashMap<>();
+
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    // Smoothed position to forward, or null when the ping should be dropped
+    public FilteredPing accept(Long userId, double latitude, double longitude) {
+        long now = System.currentTimeMillis();
+        FilteredPing[] result = new FilteredPing[1];
+
+        tracks.compute(userId, (id, state) -> {
+            if (state == null) {
+                result[0] = new FilteredPing(latitude, longitude);
+                return new TrackState(latitude, longitude, latitude, longitude, now);
+            }
+
+            double smoothedLat;
+            double smoothedLng;
+            if (distanceMeters(state.smoothedLat(), state.smoothedLng(), latitude, longitude) > resetDistanceMeters) {
+                smoothedLat = latitude;
+                smoothedLng = longitude;
+            } else {
+                smoothedLat = smoothingAlpha * latitude + (1 - smoothingAlpha) * state.smoothedLat();
+                smoothedLng = smoothingAlpha * longitude + (1 - smoothingAlpha) * state.smoothedLng();
+            }
+
+            long elapsed = now - state.forwardedAt();
+            double moved = distanceMeters(state.forwardedLat(), state.forwardedLng(), smoothedLat, smoothedLng);
+
+            boolean forward = elapsed >= maxSilenceMs
+                    || (elapsed >= minIntervalMs && moved >= minDistanceMeters);
+
+            if (forward) {
+                result[0] = new FilteredPing(smoothedLat, smoothedLng);
+                return new TrackState(smoothedLat, smoothedLng, smoothedLat, smoothedLng, now);
+            }
+            return new TrackState(smoothedLat, smoothedLng,
+                    state.forwardedLat(), state.forwardedLng(), state.forwardedAt());
+        });
+
+        if (result[0] != null) {
+            forwarded.increment();
+        } else {
+            suppressed.increment();
+        }
+        return result[0];
+    }
+
+    public void reset(Long userId) {
+        tracks.remove(userId);
+    }
+
+    public long getForwardedCount() {
+        return forwarded.sum();
+    }
+
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    // Equirectangular approximation, accurate to well under a metre at ping scale
+    private static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = lat2 - lat1;
+        double dLng = (lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        return Math.sqrt(dLat * dLat + dLng * dLng) * METERS_PER_DEGREE;
+    }
+
+    public record FilteredPing(double latitude, double longitude) {
+    }
+
+    private record TrackState(double smoothedLat, double smoothedLng,
+                              double forwardedLat, double forwardedLng, long forwardedAt) {
+    }
+}
@@ -6,8 +6,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
 
 @Service
 @RequiredArgsConstructor
@@ -15,36 +18,114 @@ import java.util.List;
 public class LocationService {
 
     private final MechanicProfileRepository mechanicProfileRepository;
+    private final MechanicLocationIndex mechanicLocationIndex;
+    private final RoadNetworkRouter roadNetworkRouter;
 
     private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double PREFILTER_MARGIN = 1.1;
+    // Assume average speed of 30 km/h in urban areas
+    private static final double AVERAGE_SPEED_KMH = 30.0;
 
-    public List<MechanicProfile> findNearestMechanics(BigDecimal latitude, BigDecimal longitude, int limit) {
-        return mechanicProfileRepository.findNearestAvailableMechanics(latitude, longitude, limit);
+    public List<Long> findNearestMechanicUserIds(double latitude, double longitude, int limit) {
+        return mechanicLocationIndex.findNearest(latitude, longitude, limit);
     }
 
-    public MechanicProfile findNearestMechanic(BigDecimal latitude, BigDecimal longitude) {
+    public List<MechanicProfile> findNearestMechanics(double latitude, double longitude, int limit) {
+        List<Long> userIds = findNearestMechanicUserIds(latitude, longitude, limit);
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Index decides the order, the primary-key fetch only hydrates the entities
+        Map<Long, MechanicProfile> byUserId = new HashMap<>();
+        for (MechanicProfile profile : mechanicProfileRepository.findByUserIdIn(userIds)) {
+            byUserId.put(profile.getUser().getId(), profile);
+        }
+
+        return userIds.stream()
+                .map(byUserId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public MechanicProfile findNearestMechanic(double latitude, double longitude) {
         List<MechanicProfile> mechanics = findNearestMechanics(latitude, longitude, 1);
         return mechanics.isEmpty() ? null : mechanics.get(0);
     }
 
-    public double calculateDistance(BigDecimal lat1, BigDecimal lon1, BigDecimal lat2, BigDecimal lon2) {
-        double lat1Rad = Math.toRadians(lat1.doubleValue());
-        double lat2Rad = Math.toRadians(lat2.doubleValue());
-        double deltaLat = Math.toRadians(lat2.doubleValue() - lat1.doubleValue());
-        double deltaLon = Math.toRadians(lon2.doubleValue() - lon1.doubleValue());
+    public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        double sinHalfLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinHalfLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+
+        double a = sinHalfLat * sinHalfLat +
+                   Math.cos(lat1Rad) * Math.cos(lat2Rad) * sinHalfLon * sinHalfLon;
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Haversine into distancesKm, POSITIVE_INFINITY past the cutoff; returns how many are within it
+    public int calculateDistances(double originLat, double originLon,
+                                  double[] latitudes, double[] longitudes,
+                                  double[] distancesKm, int count, double maxDistanceKm) {
+        double originLatRad = Math.toRadians(originLat);
+        double originLonRad = Math.toRadians(originLon);
+        double cosOrigin = Math.cos(originLatRad);
 
-        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2) +
-                   Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                   Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        // The estimate drifts a little from haversine, keep a margin so nothing in range is dropped
+        double cutoff = maxDistanceKm * PREFILTER_MARGIN / EARTH_RADIUS_KM;
+        double cutoffSquared = cutoff * cutoff;
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        int within = 0;
+        for (int i = 0; i < count; i++) {
+            double latRad = Math.toRadians(latitudes[i]);
+            double dLat = latRad - originLatRad;
+            double dLon = Math.toRadians(longitudes[i]) - originLonRad;
+            // Take the short way round across the antimeridian
+            if (dLon > Math.PI) {
+                dLon -= 2 * Math.PI;
+            } else if (dLon < -Math.PI) {
+                dLon += 2 * Math.PI;
+            }
+            double x = dLon * cosOrigin;
 
-        return EARTH_RADIUS_KM * c;
+            if (dLat * dLat + x * x > cutoffSquared) {
+                distancesKm[i] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+
+            double sinHalfLat = Math.sin(dLat / 2);
+            double sinHalfLon = Math.sin(dLon / 2);
+            double a = sinHalfLat * sinHalfLat + cosOrigin * Math.cos(latRad) * sinHalfLon * sinHalfLon;
+            double distance = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+
+            if (distance > maxDistanceKm) {
+                distancesKm[i] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            distancesKm[i] = distance;
+            within++;
+        }
+        return within;
+    }
+
+    // Road-network travel time when a graph is loaded, straight-line estimate otherwise
+    public int estimateArrivalMinutes(double fromLat, double fromLon, double toLat, double toLon) {
+        OptionalDouble seconds = roadNetworkRouter.travelTimeSeconds(fromLat, fromLon, toLat, toLon);
+
+        if (seconds.isPresent()) {
+            return (int) Math.ceil(seconds.getAsDouble() / 60);
+        }
+        return estimateArrivalMinutes(calculateDistance(fromLat, fromLon, toLat, toLon));
     }
 
     public int estimateArrivalMinutes(double distanceKm) {
-        // Assume average speed of 30 km/h in urban areas
-        double averageSpeedKmPerHour = 30.0;
-        return (int) Math.ceil((distanceKm / averageSpeedKmPerHour) * 60);
+        return (int) Math.ceil((distanceKm / AVERAGE_SPEED_KMH) * 60);
+    }
+
+    // Furthest straight-line distance whose estimate stays within the given minutes
+    public double maxDistanceKm(double arrivalMinutes) {
+        return arrivalMinutes / 60 * AVERAGE_SPEED_KMH;
     }
 }
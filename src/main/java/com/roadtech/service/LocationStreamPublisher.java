@@ -0,0 +1,109 @@
+package com.roadtech.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latest-wins limiter for location updates: a quiet topic sends at once, a busy one sends the newest on the tick
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationStreamPublisher {
+
+    private final NotificationService notificationService;
+
+    @Value("${location.stream.max-updates-per-second:1}")
+    private double maxUpdatesPerSecond;
+
+    private final Map<Long, TopicState> topics = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public void submit(Long requestId, Long mechanicId, double latitude, double longitude, long recordedAtMillis) {
+        long now = System.currentTimeMillis();
+        long minInterval = minIntervalMs();
+        PendingUpdate update = new PendingUpdate(mechanicId, latitude, longitude, recordedAtMillis);
+        boolean[] sendNow = {false};
+
+        topics.compute(requestId, (id, state) -> {
+            TopicState current = state != null ? state : new TopicState();
+            if (now - current.lastSentAt >= minInterval) {
+                current.lastSentAt = now;
+                current.pending = null;
+                sendNow[0] = true;
+            } else {
+                if (current.pending != null) {
+                    coalesced.increment();
+                }
+                current.pending = update;
+            }
+            return current;
+        });
+
+        if (sendNow[0]) {
+            publish(requestId, update);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.stream.tick-ms:100}")
+    public void publishDue() {
+        long now = System.currentTimeMillis();
+        long minInterval = minIntervalMs();
+
+        for (Long requestId : topics.keySet()) {
+            PendingUpdate[] due = {null};
+
+            topics.computeIfPresent(requestId, (id, state) -> {
+                if (now - state.lastSentAt < minInterval) {
+                    return state;
+                }
+                if (state.pending == null) {
+                    // Quiet topic: forget it, the next update goes out immediately anyway
+                    return null;
+                }
+                due[0] = state.pending;
+                state.pending = null;
+                state.lastSentAt = now;
+                return state;
+            });
+
+            if (due[0] != null) {
+                publish(requestId, due[0]);
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private void publish(Long requestId, PendingUpdate update) {
+        notificationService.notifyLocationUpdate(requestId, update.mechanicId(),
+                update.latitude(), update.longitude(), update.recordedAtMillis());
+        published.increment();
+    }
+
+    private long minIntervalMs() {
+        return (long) Math.ceil(1000.0 / maxUpdatesPerSecond);
+    }
+
+    private record PendingUpdate(Long mechanicId, double latitude, double longitude, long recordedAtMillis) {
+    }
+
+    // Only touched inside ConcurrentHashMap.compute for its key
+    private static final class TopicState {
+        private long lastSentAt;
+        private PendingUpdate pending;
+    }
+}
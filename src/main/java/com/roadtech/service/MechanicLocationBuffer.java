@@ -0,0 +1,164 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.ServiceRequest;
+import com.roadtech.repository.ServiceRequestRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-behind buffer: newest ping per mechanic, flushed as one JDBC batch
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MechanicLocationBuffer {
+
+    private static final String UPDATE_LOCATION_SQL = """
+        UPDATE mechanic_profiles
+        SET current_latitude = ?, current_longitude = ?, location_updated_at = ?, updated_at = ?
+        WHERE user_id = ? AND (location_updated_at IS NULL OR location_updated_at <= ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ServiceRequestRepository serviceRequestRepository;
+    private final LocationStreamPublisher locationStreamPublisher;
+
+    @Value("${location.buffer.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, BufferedLocation> pending = new ConcurrentHashMap<>();
+
+    // Keyed by fix time; false when a newer position is already buffered
+    public boolean recordIfNewer(Long userId, double latitude, double longitude, long recordedAtMillis) {
+        boolean[] recorded = {false};
+
+        pending.compute(userId, (id, current) -> {
+            if (current != null && current.updatedAtMillis() >= recordedAtMillis) {
+                return current;
+            }
+            recorded[0] = true;
+            return new BufferedLocation(latitude, longitude, recordedAtMillis);
+        });
+        return recorded[0];
+    }
+
+    public BufferedLocation get(Long userId) {
+        return pending.get(userId);
+    }
+
+    // Overlays a not-yet-flushed position so readers never see a stale row
+    public void applyTo(MechanicProfile profile) {
+        BufferedLocation location = pending.get(profile.getUser().getId());
+        if (location != null) {
+            profile.setCurrentLatitude(location.latitude());
+            profile.setCurrentLongitude(location.longitude());
+            profile.setLocationUpdatedAt(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(location.updatedAtMillis()), ZoneId.systemDefault()));
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${location.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, BufferedLocation> batch = new HashMap<>(pending);
+        List<Map.Entry<Long, BufferedLocation>> rows = new ArrayList<>(batch.entrySet());
+        List<Long> dropped = List.of();
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, rows, batchSize, (ps, row) -> bind(ps, row));
+        } catch (DataAccessException e) {
+            log.warn("Batch flush of {} mechanic locations failed, retrying row by row: {}",
+                    rows.size(), e.getMessage());
+            try {
+                dropped = flushRowByRow(rows);
+            } catch (DataAccessException retryFailure) {
+                // Not a bad row but the database itself; keep everything for the next flush
+                log.error("Failed to flush {} buffered mechanic locations: {}", rows.size(), retryFailure.getMessage());
+                return;
+            }
+        }
+
+        // A newer ping that arrived during the write stays pending for the next flush
+        batch.forEach(pending::remove);
+        dropped.forEach(batch::remove);
+
+        publish(batch);
+        log.debug("Flushed {} buffered mechanic locations", rows.size());
+    }
+
+    // Rows the database refuses are dropped, so one bad position cannot stall every other mechanic
+    private List<Long> flushRowByRow(List<Map.Entry<Long, BufferedLocation>> rows) {
+        List<Long> dropped = new ArrayList<>();
+        for (Map.Entry<Long, BufferedLocation> row : rows) {
+            try {
+                jdbcTemplate.update(UPDATE_LOCATION_SQL, ps -> bind(ps, row));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping buffered location of mechanic {}: {}", row.getKey(), e.getMessage());
+                dropped.add(row.getKey());
+            }
+        }
+        return dropped;
+    }
+
+    private static void bind(PreparedStatement ps, Map.Entry<Long, BufferedLocation> row) throws SQLException {
+        Timestamp updatedAt = new Timestamp(row.getValue().updatedAtMillis());
+        ps.setDouble(1, row.getValue().latitude());
+        ps.setDouble(2, row.getValue().longitude());
+        ps.setTimestamp(3, updatedAt);
+        ps.setTimestamp(4, updatedAt);
+        ps.setLong(5, row.getKey());
+        ps.setTimestamp(6, updatedAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void publish(Map<Long, BufferedLocation> batch) {
+        List<ServiceRequest> activeRequests =
+                serviceRequestRepository.findActiveRequestsByMechanicIds(batch.keySet());
+
+        for (ServiceRequest request : activeRequests) {
+            Long mechanicId = request.getMechanic().getId();
+            BufferedLocation location = batch.get(mechanicId);
+
+            locationStreamPublisher.submit(
+                    request.getId(),
+                    mechanicId,
+                    location.latitude(),
+                    location.longitude(),
+                    location.updatedAtMillis()
+            );
+        }
+    }
+
+    // Primitives only, so buffering a ping costs a single small allocation
+    public record BufferedLocation(double latitude, double longitude, long updatedAtMillis) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.repository.MechanicProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Uniform grid of dispatchable mechanics; lookups walk outwards from the query cell
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MechanicLocationIndex {
+
+    private final MechanicProfileRepository mechanicProfileRepository;
+    private final MechanicLocationBuffer locationBuffer;
+
+    @Value("${location.index.cell-size-deg:0.05}")
+    private double cellSizeDeg;
+
+    // Beyond this many rings the query falls back to scanning every entry
+    @Value("${location.index.max-rings:64}")
+    private int maxRings;
+
+    private final Set<Long> eligible = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<MechanicProfile> mechanics = mechanicProfileRepository.findAllAvailableWithUser();
+        mechanics.forEach(this::refresh);
+        log.info("Mechanic location index loaded with {} mechanics", positions.size());
+    }
+
+    public void refresh(MechanicProfile profile) {
+        apply(profile.getUser().getId(), isEligible(profile),
+                profile.getCurrentLatitude(), profile.getCurrentLongitude());
+    }
+
+    // Fields are read now; the index only changes if the transaction commits
+    public void refreshAfterCommit(MechanicProfile profile) {
+        Long userId = profile.getUser().getId();
+        boolean eligibleNow = isEligible(profile);
+        Double latitude = profile.getCurrentLatitude();
+        Double longitude = profile.getCurrentLongitude();
+        afterCommit(() -> apply(userId, eligibleNow, latitude, longitude));
+    }
+
+    public void removeAfterCommit(Long userId) {
+        afterCommit(() -> remove(userId));
+    }
+
+    private void apply(Long userId, boolean eligibleNow, Double latitude, Double longitude) {
+        if (!eligibleNow) {
+            remove(userId);
+            return;
+        }
+        eligible.add(userId);
+
+        // A buffered ping is newer than whatever the entity was loaded with
+        MechanicLocationBuffer.BufferedLocation buffered = locationBuffer.get(userId);
+        if (buffered != null) {
+            move(userId, buffered.latitude(), buffered.longitude());
+        } else if (latitude != null && longitude != null) {
+            move(userId, latitude, longitude);
+        } else {
+            dropPosition(userId);
+        }
+    }
+
+    // Ignored for mechanics that are not currently eligible for dispatch
+    public void move(Long userId, double latitude, double longitude) {
+        long cell = cellKey(latIndex(latitude), lngIndex(longitude));
+
+        positions.compute(userId, (id, previous) -> {
+            if (!eligible.contains(id)) {
+                if (previous != null) {
+                    removeFromCell(previous.cell(), id);
+                }
+                return null;
+            }
+            if (previous == null || previous.cell() != cell) {
+                if (previous != null) {
+                    removeFromCell(previous.cell(), id);
+                }
+                cells.compute(cell, (key, ids) -> {
+                    Set<Long> members = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    members.add(id);
+                    return members;
+                });
+            }
+            return new Position(latitude, longitude, cell);
+        });
+    }
+
+    public void remove(Long userId) {
+        eligible.remove(userId);
+        dropPosition(userId);
+    }
+
+    public boolean contains(Long userId) {
+        return positions.containsKey(userId);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    // Nearest first; equirectangular distance is enough to order at city scale
+    public List<Long> findNearest(double latitude, double longitude, int limit) {
+        if (limit <= 0 || positions.isEmpty()) {
+            return List.of();
+        }
+
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        int centerLat = latIndex(latitude);
+        int centerLng = lngIndex(longitude);
+        int total = positions.size();
+
+        PriorityQueue<Candidate> best = newHeap();
+        int seen = 0;
+
+        for (int ring = 0; ring <= maxRings; ring++) {
+            if (ring == 0) {
+                seen += scanCell(centerLat, centerLng, latitude, longitude, cosLat, limit, best);
+            } else {
+                for (int d = -ring; d <= ring; d++) {
+                    seen += scanCell(centerLat - ring, centerLng + d, latitude, longitude, cosLat, limit, best);
+                    seen += scanCell(centerLat + ring, centerLng + d, latitude, longitude, cosLat, limit, best);
+                }
+                for (int d = -ring + 1; d <= ring - 1; d++) {
+                    seen += scanCell(centerLat + d, centerLng - ring, latitude, longitude, cosLat, limit, best);
+                    seen += scanCell(centerLat + d, centerLng + ring, latitude, longitude, cosLat, limit, best);
+                }
+            }
+
+            // Anything in the next ring is at least `ring` whole cells away
+            double reach = ring * cellSizeDeg * cosLat;
+            if (best.size() == limit && best.peek().distance() <= reach * reach) {
+                return toSortedIds(best);
+            }
+            if (seen >= total) {
+                return toSortedIds(best);
+            }
+        }
+
+        // Sparse area: the grid walk got too wide, rank everything instead
+        best = newHeap();
+        for (Map.Entry<Long, Position> entry : positions.entrySet()) {
+            Position position = entry.getValue();
+            offer(best, entry.getKey(),
+                    distance(position, latitude, longitude, cosLat), limit);
+        }
+        return toSortedIds(best);
+    }
+
+    private int scanCell(int latIdx, int lngIdx, double latitude, double longitude,
+                         double cosLat, int limit, PriorityQueue<Candidate> best) {
+        Set<Long> ids = cells.get(cellKey(latIdx, lngIdx));
+        if (ids == null) {
+            return 0;
+        }
+
+        int scanned = 0;
+        for (Long id : ids) {
+            Position position = positions.get(id);
+            if (position == null) {
+                continue;
+            }
+            offer(best, id, distance(position, latitude, longitude, cosLat), limit);
+            scanned++;
+        }
+        return scanned;
+    }
+
+    private void offer(PriorityQueue<Candidate> best, Long userId, double distance, int limit) {
+        if (best.size() < limit) {
+            best.add(new Candidate(userId, distance));
+        } else if (distance < best.peek().distance()) {
+            best.poll();
+            best.add(new Candidate(userId, distance));
+        }
+    }
+
+    private List<Long> toSortedIds(PriorityQueue<Candidate> best) {
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(Candidate::distance));
+        return ordered.stream().map(Candidate::userId).toList();
+    }
+
+    private PriorityQueue<Candidate> newHeap() {
+        return new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+    }
+
+    private void dropPosition(Long userId) {
+        positions.computeIfPresent(userId, (id, previous) -> {
+            removeFromCell(previous.cell(), id);
+            return null;
+        });
+    }
+
+    private void removeFromCell(long cell, Long userId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(userId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private boolean isEligible(MechanicProfile profile) {
+        return Boolean.TRUE.equals(profile.getIsAvailable())
+                && Boolean.TRUE.equals(profile.getIsVerified())
+                && Boolean.TRUE.equals(profile.getUser().getIsActive());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static double distance(Position position, double latitude, double longitude, double cosLat) {
+        double dLat = position.latitude() - latitude;
+        double dLng = (position.longitude() - longitude) * cosLat;
+        return dLat * dLat + dLng * dLng;
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellSizeDeg);
+    }
+
+    private int lngIndex(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellSizeDeg);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private record Position(double latitude, double longitude, long cell) {
+    }
+
+    private record Candidate(Long userId, double distance) {
+    }
+}
@@ -3,6 +3,7 @@ package com.roadtech.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,7 @@ import com.roadtech.entity.MechanicProfile;
 import com.roadtech.entity.ServiceRequest;
 import com.roadtech.entity.ServiceRequest.RequestStatus;
 import com.roadtech.exception.BadRequestException;
+import com.roadtech.exception.ConflictException;
 import com.roadtech.exception.ForbiddenException;
 import com.roadtech.exception.ResourceNotFoundException;
 import com.roadtech.repository.MechanicProfileRepository;
@@ -36,11 +38,19 @@ public class MechanicService {
     private final LocationService locationService;
     private final PartRepository partRepository;
     private final PartsProviderRepository partsProviderRepository;
+    private final MechanicLocationIndex mechanicLocationIndex;
+    private final MechanicLocationBuffer mechanicLocationBuffer;
+    private final LocationPingFilter locationPingFilter;
+    private final RequestCellTopics requestCellTopics;
+
+    @Value("${location.buffer.max-fix-age-ms:300000}")
+    private long maxFixAgeMs;
 
     @Transactional(readOnly = true)
     public MechanicProfileDto getProfile(Long userId) {
         MechanicProfile profile = mechanicProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
+        mechanicLocationBuffer.applyTo(profile);
         return MechanicProfileDto.fromEntity(profile);
     }
 
@@ -53,8 +63,13 @@ public class MechanicService {
             profile.setSpecializations(dto.getSpecializations());
         }
         profile.setIsAvailable(dto.getIsAvailable());
+        mechanicLocationBuffer.applyTo(profile);
 
         profile = mechanicProfileRepository.save(profile);
+        mechanicLocationIndex.refreshAfterCommit(profile);
+        if (!Boolean.TRUE.equals(profile.getIsAvailable())) {
+            requestCellTopics.untrack(userId);
+        }
         return MechanicProfileDto.fromEntity(profile);
     }
 
@@ -64,36 +79,81 @@ public class MechanicService {
                 .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
 
         profile.setIsAvailable(dto.getIsAvailable());
+        mechanicLocationBuffer.applyTo(profile);
         profile = mechanicProfileRepository.save(profile);
+        mechanicLocationIndex.refreshAfterCommit(profile);
+        locationPingFilter.reset(userId);
+        if (!Boolean.TRUE.equals(profile.getIsAvailable())) {
+            requestCellTopics.untrack(userId);
+        }
 
         return MechanicProfileDto.fromEntity(profile);
     }
 
-    @Transactional
     public void updateLocation(Long userId, LocationUpdateDto dto) {
-        MechanicProfile profile = mechanicProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
+        // STOMP payloads skip bean validation, so a missing coordinate can arrive here
+        if (dto.getLatitude() == null || dto.getLongitude() == null) {
+            throw new BadRequestException("Latitude and longitude are required");
+        }
+        updateLocation(userId, dto.getLatitude(), dto.getLongitude(),
+                dto.getFixAgeMs() != null ? dto.getFixAgeMs() : 0);
+    }
 
-        profile.setCurrentLatitude(dto.getLatitude());
-        profile.setCurrentLongitude(dto.getLongitude());
-        profile.setLocationUpdatedAt(LocalDateTime.now());
+    // No database round trip: the buffer persists and fans out on its next flush
+    public void updateLocation(Long userId, double latitude, double longitude, long fixAgeMs) {
+        // Out of range values would overflow the DECIMAL columns and fail the whole buffered batch
+        if (!(Math.abs(latitude) <= 90.0) || !(Math.abs(longitude) <= 180.0)) {
+            throw new BadRequestException("Coordinates out of range");
+        }
 
-        mechanicProfileRepository.save(profile);
+        LocationPingFilter.FilteredPing ping = locationPingFilter.accept(userId, latitude, longitude);
 
-        // Send location update to active requests
-        List<ServiceRequest> activeRequests = serviceRequestRepository
-                .findActiveRequestsByMechanicId(userId);
+        // Stationary or too frequent, nothing changed worth persisting
+        if (ping == null) {
+            return;
+        }
 
-        for (ServiceRequest request : activeRequests) {
-            notificationService.notifyLocationUpdate(
-                    request.getId(),
-                    userId,
-                    dto.getLatitude(),
-                    dto.getLongitude()
-            );
+        // Timestamped at the fix, so subscribers see its real age and a late frame never overwrites a newer one.
+        // Clamped: a negative age would date the fix in the future and freeze out every later ping
+        long clampedAgeMs = Math.min(Math.max(fixAgeMs, 0), maxFixAgeMs);
+        mechanicLocationBuffer.recordIfNewer(userId, ping.latitude(), ping.longitude(),
+                System.currentTimeMillis() - clampedAgeMs);
+        mechanicLocationIndex.move(userId, ping.latitude(), ping.longitude());
+
+        // The index holds only mechanics open for dispatch; nobody else should be on a request topic
+        if (!mechanicLocationIndex.contains(userId)) {
+            requestCellTopics.untrack(userId);
+            return;
+        }
+        String requestTopic = requestCellTopics.track(userId, ping.latitude(), ping.longitude());
+        if (requestTopic != null) {
+            notificationService.notifyRequestTopicChanged(userId, requestTopic);
         }
     }
 
+    // Topic to subscribe to for NEW_REQUEST messages, null until the mechanic has a location
+    @Transactional(readOnly = true)
+    public String getRequestTopic(Long userId) {
+        String topic = requestCellTopics.currentTopic(userId);
+        if (topic != null) {
+            return topic;
+        }
+
+        MechanicProfile profile = mechanicProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
+        mechanicLocationBuffer.applyTo(profile);
+
+        if (profile.getCurrentLatitude() == null || profile.getCurrentLongitude() == null) {
+            return null;
+        }
+        // Mechanics outside the dispatch index get their cell's topic but stay untracked
+        if (!mechanicLocationIndex.contains(userId)) {
+            return requestCellTopics.topicFor(profile.getCurrentLatitude(), profile.getCurrentLongitude());
+        }
+        requestCellTopics.track(userId, profile.getCurrentLatitude(), profile.getCurrentLongitude());
+        return requestCellTopics.currentTopic(userId);
+    }
+
     @Transactional(readOnly = true)
     public List<ServiceRequestDto> getPendingRequests() {
         return serviceRequestRepository.findPendingRequestsWithoutMechanic()
@@ -120,17 +180,19 @@ public class MechanicService {
 
     @Transactional
     public ServiceRequestDto acceptRequest(Long requestId, Long mechanicUserId) {
-        ServiceRequest request = serviceRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Service request", requestId));
-
-        if (request.getStatus() != RequestStatus.PENDING) {
-            throw new BadRequestException("Request is no longer pending");
-        }
+        ServiceRequest request = assign(requestId, mechanicUserId);
+        return ServiceRequestDto.fromEntityWithDetails(request);
+    }
 
-        if (request.getMechanic() != null) {
-            throw new BadRequestException("Request already has an assigned mechanic");
-        }
+    // Same checks as a manual accept, but the mechanic is told they were picked
+    @Transactional
+    public void dispatchRequest(Long requestId, Long mechanicUserId) {
+        ServiceRequest request = assign(requestId, mechanicUserId);
+        notificationService.notifyRequestAssigned(request);
+    }
 
+    // One conditional UPDATE claims the row, so of concurrent acceptors exactly one wins
+    private ServiceRequest assign(Long requestId, Long mechanicUserId) {
         MechanicProfile profile = mechanicProfileRepository.findByUserId(mechanicUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
 
@@ -138,28 +200,59 @@ public class MechanicService {
             throw new BadRequestException("You must be available to accept requests");
         }
 
-        request.setMechanic(profile.getUser());
-        request.setStatus(RequestStatus.ACCEPTED);
-        request.setAcceptedAt(LocalDateTime.now());
+        ServiceRequest request = serviceRequestRepository.findById(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service request", requestId));
+
+        // Answers repeats and stale taps without the UPDATE; it is not what decides a race
+        if (request.getStatus() != RequestStatus.PENDING || request.getMechanic() != null) {
+            return alreadyClaimed(requestId, mechanicUserId);
+        }
+
+        mechanicLocationBuffer.applyTo(profile);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime estimatedArrival = null;
 
         // Calculate ETA if mechanic has location
         if (profile.getCurrentLatitude() != null && profile.getCurrentLongitude() != null) {
-            double distance = locationService.calculateDistance(
+            int etaMinutes = locationService.estimateArrivalMinutes(
                     profile.getCurrentLatitude(),
                     profile.getCurrentLongitude(),
                     request.getLatitude(),
                     request.getLongitude()
             );
-            int etaMinutes = locationService.estimateArrivalMinutes(distance);
-            request.setEstimatedArrival(LocalDateTime.now().plusMinutes(etaMinutes));
+            estimatedArrival = now.plusMinutes(etaMinutes);
         }
 
-        request = serviceRequestRepository.save(request);
+        int claimed = serviceRequestRepository.claimPendingRequest(
+                requestId, profile.getUser(), RequestStatus.ACCEPTED, estimatedArrival, now);
+
+        // Lost the race. A re-read here would still see this transaction's snapshot, so no winner is named
+        if (claimed == 0) {
+            throw new ConflictException("Request is no longer pending");
+        }
+
+        request = serviceRequestRepository.findByIdWithDetails(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service request", requestId));
 
         // Notify user about status change
         notificationService.notifyRequestStatusUpdate(request);
 
-        return ServiceRequestDto.fromEntityWithDetails(request);
+        return request;
+    }
+
+    // A repeated tap by the winner is answered with the request, everyone else gets a conflict
+    private ServiceRequest alreadyClaimed(Long requestId, Long mechanicUserId) {
+        ServiceRequest request = serviceRequestRepository.findByIdWithDetails(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service request", requestId));
+
+        if (request.getMechanic() != null && request.getMechanic().getId().equals(mechanicUserId)
+                && request.getStatus() == RequestStatus.ACCEPTED) {
+            return request;
+        }
+        if (request.getMechanic() != null) {
+            throw new ConflictException("Request was already accepted by another mechanic");
+        }
+        throw new ConflictException("Request is no longer pending");
     }
 
     @Transactional
@@ -218,10 +311,10 @@ public class MechanicService {
         request = serviceRequestRepository.save(request);
 
         // Update mechanic stats
-        MechanicProfile profile = mechanicProfileRepository.findByUserId(mechanicUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Mechanic profile not found"));
-        profile.setTotalJobs(profile.getTotalJobs() + 1);
-        mechanicProfileRepository.save(profile);
+        // Column update only, saving the entity would overwrite the buffered position
+        if (mechanicProfileRepository.incrementTotalJobs(mechanicUserId) == 0) {
+            throw new ResourceNotFoundException("Mechanic profile not found");
+        }
 
         notificationService.notifyRequestStatusUpdate(request);
 
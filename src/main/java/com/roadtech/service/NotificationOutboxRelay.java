@@ -0,0 +1,171 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.NotificationOutbox;
+import com.roadtech.repository.NotificationOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Publishes outbox rows after their transaction commits; at-least-once, single instance like the broker
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final JsonMessagePublisher jsonMessagePublisher;
+    private final TelegramNotificationService telegramService;
+
+    @Value("${notification.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notification.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${notification.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${notification.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        relayThread = new Thread(this::run, "notification-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Called by writers; rows recorded outside a transaction are relayed immediately
+    public void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void wakeUp() {
+        // One pending permit is enough, the relay drains everything it finds
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+                relayPending();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (DataAccessException e) {
+                log.error("Failed to relay notification outbox: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void relayPending() {
+        List<NotificationOutbox> batch;
+        do {
+            batch = outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<Long> done = new ArrayList<>(batch.size());
+            for (NotificationOutbox entry : batch) {
+                if (publish(entry) || !scheduleRetry(entry)) {
+                    done.add(entry.getId());
+                }
+            }
+            if (!done.isEmpty()) {
+                outboxRepository.deleteByIdIn(done);
+            }
+        } while (batch.size() == batchSize && running);
+    }
+
+    private boolean publish(NotificationOutbox entry) {
+        try {
+            switch (entry.getChannel()) {
+                case WEBSOCKET -> jsonMessagePublisher.send(
+                        entry.getPayload().getBytes(StandardCharsets.UTF_8),
+                        Arrays.asList(entry.getDestinations().split("\n"))
+                );
+                case TELEGRAM_BROADCAST -> telegramService.notifyAvailableMechanics(entry.getPayload());
+            }
+            published.increment();
+            return true;
+        } catch (RuntimeException e) {
+            // A broken entry must not hold back everything queued behind it
+            failed.increment();
+            log.error("Failed to publish outbox entry {} to {}", entry.getId(), entry.getDestinations(), e);
+            return false;
+        }
+    }
+
+    // Returns false once the entry has used up its attempts and should be dropped
+    private boolean scheduleRetry(NotificationOutbox entry) {
+        int attempts = (entry.getAttempts() != null ? entry.getAttempts() : 0) + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Dropping outbox entry {} after {} failed attempts", entry.getId(), attempts);
+            return false;
+        }
+
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        outboxRepository.scheduleRetry(entry.getId(), attempts, LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+        return true;
+    }
+}
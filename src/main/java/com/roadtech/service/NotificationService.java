@@ -1,86 +1,139 @@
 package com.roadtech.service;
 
+import com.roadtech.dto.notification.LocationUpdatePayload;
+import com.roadtech.dto.notification.NotificationMessage;
+import com.roadtech.dto.notification.RequestTopicPayload;
 import com.roadtech.dto.request.ServiceRequestDto;
+import com.roadtech.entity.NotificationOutbox;
 import com.roadtech.entity.ServiceRequest;
+import com.roadtech.repository.NotificationOutboxRepository;
+import com.roadtech.websocket.LocationSubscriptions;
+import com.roadtech.websocket.LocationWireFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+// Lifecycle notifications go through the outbox after commit; location updates go straight to the broker
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final String LEGACY_REQUESTS_TOPIC = "/topic/mechanic/requests";
 
-    public void notifyNewRequest(ServiceRequest request) {
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "NEW_REQUEST");
-        message.put("payload", ServiceRequestDto.fromEntity(request));
-        message.put("timestamp", System.currentTimeMillis());
+    private final JsonMessagePublisher jsonMessagePublisher;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxRelay outboxRelay;
+    private final RequestCellTopics requestCellTopics;
+    private final LocationSubscriptions locationSubscriptions;
+
+    // The shared topic sends every request to every mechanic; only for clients not on cells yet
+    @Value("${notification.legacy-request-topic.enabled:false}")
+    private boolean legacyRequestTopicEnabled;
 
-        // Broadcast to all available mechanics
-        messagingTemplate.convertAndSend("/topic/mechanic/requests", message);
+    public void notifyNewRequest(ServiceRequest request) {
+        NotificationMessage<ServiceRequestDto> message =
+                NotificationMessage.of("NEW_REQUEST", ServiceRequestDto.fromEntity(request));
+
+        // Cell topics reach only nearby mechanics
+        List<String> destinations = new ArrayList<>(
+                requestCellTopics.topicsNear(request.getLatitude(), request.getLongitude()));
+        if (legacyRequestTopicEnabled) {
+            destinations.add(LEGACY_REQUESTS_TOPIC);
+        }
+        enqueue(message, destinations);
         log.debug("Notified mechanics about new request: {}", request.getId());
     }
 
     public void notifyRequestStatusUpdate(ServiceRequest request) {
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "STATUS_UPDATE");
-        message.put("payload", ServiceRequestDto.fromEntityWithDetails(request));
-        message.put("timestamp", System.currentTimeMillis());
+        NotificationMessage<ServiceRequestDto> message =
+                NotificationMessage.of("STATUS_UPDATE", ServiceRequestDto.fromEntityWithDetails(request));
 
-        // Notify the user
-        messagingTemplate.convertAndSend(
+        // Notify the user and the request-specific topic
+        enqueue(message, List.of(
                 "/topic/user/" + request.getUser().getId(),
-                message
-        );
-
-        // Notify on request-specific topic
-        messagingTemplate.convertAndSend(
-                "/topic/request/" + request.getId(),
-                message
-        );
+                "/topic/request/" + request.getId()
+        ));
 
         log.debug("Sent status update for request {}: {}", request.getId(), request.getStatus());
     }
 
-    public void notifyRequestCancelled(ServiceRequest request) {
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "REQUEST_CANCELLED");
-        message.put("payload", ServiceRequestDto.fromEntity(request));
-        message.put("timestamp", System.currentTimeMillis());
+    public void notifyRequestAssigned(ServiceRequest request) {
+        NotificationMessage<ServiceRequestDto> message =
+                NotificationMessage.of("REQUEST_ASSIGNED", ServiceRequestDto.fromEntityWithDetails(request));
+
+        // Notify the mechanic the dispatcher picked
+        enqueue(message, List.of("/topic/mechanic/" + request.getMechanic().getId()));
 
+        log.debug("Notified mechanic {} about assigned request {}", request.getMechanic().getId(), request.getId());
+    }
+
+    public void notifyRequestCancelled(ServiceRequest request) {
         // Notify the assigned mechanic
         if (request.getMechanic() != null) {
-            messagingTemplate.convertAndSend(
-                    "/topic/mechanic/" + request.getMechanic().getId(),
-                    message
-            );
+            NotificationMessage<ServiceRequestDto> message =
+                    NotificationMessage.of("REQUEST_CANCELLED", ServiceRequestDto.fromEntity(request));
+            enqueue(message, List.of("/topic/mechanic/" + request.getMechanic().getId()));
         }
 
         log.debug("Notified about cancelled request: {}", request.getId());
     }
 
-    public void notifyLocationUpdate(Long requestId, Long mechanicId, BigDecimal latitude, BigDecimal longitude) {
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "LOCATION_UPDATE");
+    // Tells a mechanic which request topic to listen on after moving into another cell
+    public void notifyRequestTopicChanged(Long mechanicId, String topic) {
+        jsonMessagePublisher.publish(
+                NotificationMessage.of("REQUEST_TOPIC_CHANGED", new RequestTopicPayload(topic)),
+                "/topic/mechanic/" + mechanicId
+        );
+        log.debug("Moved mechanic {} to request topic {}", mechanicId, topic);
+    }
 
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("requestId", requestId);
-        payload.put("mechanicId", mechanicId);
-        payload.put("latitude", latitude);
-        payload.put("longitude", longitude);
+    public void notifyMechanicsByTelegram(String text) {
+        outboxRepository.save(NotificationOutbox.builder()
+                .channel(NotificationOutbox.Channel.TELEGRAM_BROADCAST)
+                .payload(text)
+                .build());
+        outboxRelay.wakeUpAfterCommit();
+    }
 
-        message.put("payload", payload);
-        message.put("timestamp", System.currentTimeMillis());
+    // Each format is only encoded while someone subscribes to it, see LocationSubscriptions
+    public void notifyLocationUpdate(Long requestId, Long mechanicId,
+                                     double latitude, double longitude, long recordedAtMillis) {
+        if (locationSubscriptions.wantsJson(requestId)) {
+            jsonMessagePublisher.publish(
+                    NotificationMessage.of("LOCATION_UPDATE",
+                            new LocationUpdatePayload(requestId, mechanicId, latitude, longitude)),
+                    "/topic/request/" + requestId
+            );
+        }
 
-        messagingTemplate.convertAndSend("/topic/request/" + requestId, message);
+        if (locationSubscriptions.wantsBinary(requestId)) {
+            jsonMessagePublisher.send(
+                    LocationWireFormat.encodeUpdate(requestId, mechanicId, latitude, longitude,
+                            System.currentTimeMillis() - recordedAtMillis),
+                    "/topic/request/" + requestId + "/location",
+                    LocationWireFormat.MIME_TYPE
+            );
+        }
         log.debug("Sent location update for request {}", requestId);
     }
+
+    // One outbox row carrying every destination, so the relay also encodes it once
+    private void enqueue(NotificationMessage<?> message, List<String> destinations) {
+        if (destinations.isEmpty()) {
+            return;
+        }
+
+        outboxRepository.save(NotificationOutbox.builder()
+                .channel(NotificationOutbox.Channel.WEBSOCKET)
+                .destinations(String.join("\n", destinations))
+                .payload(new String(jsonMessagePublisher.encode(message), StandardCharsets.UTF_8))
+                .build());
+        outboxRelay.wakeUpAfterCommit();
+    }
 }
@@ -0,0 +1,393 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.Part;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over part text; every query token must match exactly, as a prefix or within one edit
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final byte NAME = 1;
+    private static final byte BRAND = 2;
+    private static final byte CATEGORY = 4;
+    private static final byte DESCRIPTION = 8;
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.7;
+    private static final double TYPO = 0.5;
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${parts.search-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> part id -> fields the term occurs in
+    private final TreeMap<String, Map<Long, Byte>> postings = new TreeMap<>();
+    // term with one character removed -> terms that produce it
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    // Ids written by live updates while the initial load was running
+    private final Set<Long> touchedDuringLoad = new HashSet<>();
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        loading = true;
+        try {
+            jdbcTemplate.query("SELECT id, name, brand, description, category FROM parts", rs -> {
+                long id = rs.getLong("id");
+                Part.PartCategory category = Part.PartCategory.valueOf(rs.getString("category"));
+                Document document = analyze(rs.getString("name"), rs.getString("brand"),
+                        rs.getString("description"), category);
+
+                lock.writeLock().lock();
+                try {
+                    if (!touchedDuringLoad.contains(id)) {
+                        put(id, document);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                touchedDuringLoad.clear();
+                loading = false;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Part search index loaded with {} parts and {} terms", documents.size(), postings.size());
+        } catch (DataAccessException | IllegalArgumentException e) {
+            loading = false;
+            log.error("Failed to build part search index, using LIKE queries: {}", e.getMessage());
+        }
+    }
+
+    // Until the index is loaded, searches go to the LIKE queries
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Fields are read now; the index only changes if the transaction commits
+    public void indexAfterCommit(Part part) {
+        Long id = part.getId();
+        Document document = analyze(part.getName(), part.getBrand(), part.getDescription(), part.getCategory());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (loading) {
+                    touchedDuringLoad.add(id);
+                }
+                remove(id);
+                put(id, document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeAfterCommit(Long partId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (loading) {
+                    touchedDuringLoad.add(partId);
+                }
+                remove(partId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Ids among the given candidates that match every token of the query, best first
+    public List<Long> search(String query, Part.PartCategory category, Set<Long> candidates) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token, category, candidates);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token, Part.PartCategory category, Set<Long> candidates) {
+        Map<Long, Double> best = new HashMap<>();
+
+        collect(token, EXACT, category, candidates, best);
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (++expanded > MAX_PREFIX_TERMS) {
+                    break;
+                }
+                collect(term, PREFIX, category, candidates, best);
+            }
+        }
+
+        if (token.length() >= MIN_TYPO_LENGTH) {
+            for (String term : typoCandidates(token)) {
+                collect(term, TYPO, category, candidates, best);
+            }
+        }
+        return best;
+    }
+
+    private void collect(String term, double quality, Part.PartCategory category, Set<Long> candidates,
+                         Map<Long, Double> best) {
+        Map<Long, Byte> parts = postings.get(term);
+        if (parts == null) {
+            return;
+        }
+
+        double idf = Math.log(1.0 + (double) documents.size() / parts.size());
+
+        // Walk whichever side is smaller: a common term's postings or a small nearby set
+        if (candidates.size() < parts.size()) {
+            for (Long id : candidates) {
+                Byte fields = parts.get(id);
+                if (fields != null) {
+                    score(id, fields, quality * idf, category, best);
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Byte> posting : parts.entrySet()) {
+                if (candidates.contains(posting.getKey())) {
+                    score(posting.getKey(), posting.getValue(), quality * idf, category, best);
+                }
+            }
+        }
+    }
+
+    private void score(Long id, byte fields, double weight, Part.PartCategory category, Map<Long, Double> best) {
+        if (category != null && documents.get(id).category() != category) {
+            return;
+        }
+        best.merge(id, weight * fieldWeight(fields), Math::max);
+    }
+
+    // Indexed terms within one insertion, deletion, substitution or transposition
+    private Set<String> typoCandidates(String token) {
+        Set<String> candidates = new HashSet<>(deletions.getOrDefault(token, Set.of()));
+        for (String deleted : deletionsOf(token)) {
+            if (postings.containsKey(deleted)) {
+                candidates.add(deleted);
+            }
+            candidates.addAll(deletions.getOrDefault(deleted, Set.of()));
+        }
+        candidates.remove(token);
+        candidates.removeIf(term -> !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private void put(Long id, Document document) {
+        documents.put(id, document);
+        document.fields().forEach((term, fields) -> {
+            Map<Long, Byte> parts = postings.get(term);
+            if (parts == null) {
+                parts = new HashMap<>();
+                postings.put(term, parts);
+                if (term.length() >= MIN_TYPO_LENGTH) {
+                    for (String deleted : deletionsOf(term)) {
+                        deletions.computeIfAbsent(deleted, key -> new HashSet<>()).add(term);
+                    }
+                }
+            }
+            parts.put(id, fields);
+        });
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        for (String term : document.fields().keySet()) {
+            Map<Long, Byte> parts = postings.get(term);
+            if (parts == null) {
+                continue;
+            }
+            parts.remove(id);
+            if (parts.isEmpty()) {
+                postings.remove(term);
+                for (String deleted : deletionsOf(term)) {
+                    Set<String> terms = deletions.get(deleted);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        deletions.remove(deleted);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Document analyze(String name, String brand, String description, Part.PartCategory category) {
+        Map<String, Byte> fields = new HashMap<>();
+        addField(fields, name, NAME);
+        addField(fields, brand, BRAND);
+        addField(fields, category != null ? category.name() : null, CATEGORY);
+        addField(fields, description, DESCRIPTION);
+        return new Document(fields, category);
+    }
+
+    private static void addField(Map<String, Byte> fields, String text, byte field) {
+        for (String token : tokenize(text)) {
+            fields.merge(token, field, (a, b) -> (byte) (a | b));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            // Single letters carry no meaning, single digits (sizes, ratings) do
+            if (token.length() > 1 || (token.length() == 1 && Character.isDigit(token.charAt(0)))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    private static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDiff < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length() || a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        // Adjacent transposition
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    private static double fieldWeight(byte fields) {
+        if ((fields & NAME) != 0) {
+            return 3.0;
+        }
+        if ((fields & BRAND) != 0) {
+            return 2.0;
+        }
+        if ((fields & CATEGORY) != 0) {
+            return 1.5;
+        }
+        return 1.0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Document(Map<String, Byte> fields, Part.PartCategory category) {
+    }
+}
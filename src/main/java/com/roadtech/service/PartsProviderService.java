@@ -15,8 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,8 @@ public class PartsProviderService {
     private final PartsProviderRepository partsProviderRepository;
     private final PartRepository partRepository;
     private final UserRepository userRepository;
+    private final SpatialSearchSupport spatialSearchSupport;
+    private final PartSearchIndex partSearchIndex;
 
     @Transactional(readOnly = true)
     public PartsProviderDto getProfile(Long userId) {
@@ -98,6 +103,7 @@ public class PartsProviderService {
                 .build();
 
         part = partRepository.save(part);
+        partSearchIndex.indexAfterCommit(part);
         return PartDto.fromEntity(part);
     }
 
@@ -118,6 +124,7 @@ public class PartsProviderService {
         if (dto.getIsAvailable() != null) part.setIsAvailable(dto.getIsAvailable());
 
         part = partRepository.save(part);
+        partSearchIndex.indexAfterCommit(part);
         return PartDto.fromEntity(part);
     }
 
@@ -128,6 +135,7 @@ public class PartsProviderService {
 
         validateProviderOwnership(userId, part);
         partRepository.delete(part);
+        partSearchIndex.removeAfterCommit(partId);
     }
 
     @Transactional
@@ -147,20 +155,17 @@ public class PartsProviderService {
     @Transactional(readOnly = true)
     public List<PartDto> searchNearbyParts(String category, String search, 
                                            Double latitude, Double longitude, Double radiusKm) {
-        List<Part> parts;
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusKm);
+        Part.PartCategory partCategory = category != null ? Part.PartCategory.valueOf(category) : null;
 
-        if (category != null && search != null) {
-            parts = partRepository.searchNearbyByCategoryAndName(
-                    Part.PartCategory.valueOf(category), search, latitude, longitude, radiusKm);
-        } else if (category != null) {
-            parts = partRepository.findNearbyByCategory(
-                    Part.PartCategory.valueOf(category), latitude, longitude, radiusKm);
-        } else if (search != null) {
-            parts = partRepository.searchNearbyByName(search, latitude, longitude, radiusKm);
-        } else {
-            parts = partRepository.findNearbyParts(latitude, longitude, radiusKm);
+        if (search != null && !search.isBlank() && partSearchIndex.isReady()) {
+            return searchIndexedParts(partCategory, search, latitude, longitude, radiusKm, box);
         }
 
+        List<Part> parts = useSpatialSearch(box)
+                ? findNearbyPartsSpatial(partCategory, search, latitude, longitude, radiusKm, box)
+                : findNearbyParts(partCategory, search, latitude, longitude, radiusKm, box);
+
         return parts.stream()
                 .map(PartDto::fromEntity)
                 .toList();
@@ -168,14 +173,88 @@ public class PartsProviderService {
 
     @Transactional(readOnly = true)
     public List<PartsProviderDto> getNearbyProviders(Double latitude, Double longitude, Double radiusKm) {
-        List<PartsProvider> providers = partsProviderRepository.findNearbyProviders(
-                BigDecimal.valueOf(latitude), BigDecimal.valueOf(longitude), radiusKm);
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusKm);
+        List<PartsProvider> providers;
+
+        if (useSpatialSearch(box)) {
+            providers = partsProviderRepository.findNearbyProvidersSpatial(
+                    latitude, longitude, radiusKm, box.toPolygonWkt());
+        } else {
+            providers = partsProviderRepository.findNearbyProviders(
+                    latitude, longitude, radiusKm,
+                    box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        }
         
         return providers.stream()
                 .map(PartsProviderDto::fromEntity)
                 .toList();
     }
 
+    // Geography first, so relevance is ranked only among parts that are actually nearby
+    private List<PartDto> searchIndexedParts(Part.PartCategory category, String search,
+                                             Double latitude, Double longitude, Double radiusKm, BoundingBox box) {
+        List<Long> nearby = useSpatialSearch(box)
+                ? partRepository.findNearbyIdsSpatial(latitude, longitude, radiusKm, box.toPolygonWkt())
+                : partRepository.findNearbyIds(latitude, longitude, radiusKm,
+                        box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ranked = partSearchIndex.search(search, category, new HashSet<>(nearby));
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>(ranked.size() * 2);
+        for (int i = 0; i < ranked.size(); i++) {
+            rank.put(ranked.get(i), i);
+        }
+
+        return partRepository.findAllWithProviderByIdIn(ranked).stream()
+                .sorted(Comparator.comparingInt(part -> rank.get(part.getId())))
+                .map(PartDto::fromEntity)
+                .toList();
+    }
+
+    // A box spanning every longitude is not a valid geographic polygon
+    private boolean useSpatialSearch(BoundingBox box) {
+        return spatialSearchSupport.isActive() && !box.coversAllLongitudes();
+    }
+
+    private List<Part> findNearbyParts(Part.PartCategory category, String search,
+                                       Double latitude, Double longitude, Double radiusKm, BoundingBox box) {
+        if (category != null && search != null) {
+            return partRepository.searchNearbyByCategoryAndName(
+                    category, search, latitude, longitude, radiusKm,
+                    box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        } else if (category != null) {
+            return partRepository.findNearbyByCategory(
+                    category, latitude, longitude, radiusKm,
+                    box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        } else if (search != null) {
+            return partRepository.searchNearbyByName(search, latitude, longitude, radiusKm,
+                    box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        }
+        return partRepository.findNearbyParts(latitude, longitude, radiusKm,
+                box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+    }
+
+    private List<Part> findNearbyPartsSpatial(Part.PartCategory category, String search,
+                                              Double latitude, Double longitude, Double radiusKm, BoundingBox box) {
+        String boxWkt = box.toPolygonWkt();
+
+        if (category != null && search != null) {
+            return partRepository.searchNearbyByCategoryAndNameSpatial(
+                    category, search, latitude, longitude, radiusKm, boxWkt);
+        } else if (category != null) {
+            return partRepository.findNearbyByCategorySpatial(category, latitude, longitude, radiusKm, boxWkt);
+        } else if (search != null) {
+            return partRepository.searchNearbyByNameSpatial(search, latitude, longitude, radiusKm, boxWkt);
+        }
+        return partRepository.findNearbyPartsSpatial(latitude, longitude, radiusKm, boxWkt);
+    }
+
     private void validateProviderOwnership(Long userId, Part part) {
         if (!part.getProvider().getUser().getId().equals(userId)) {
             throw new ForbiddenException("You don't have permission to modify this part");
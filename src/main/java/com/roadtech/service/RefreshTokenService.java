@@ -0,0 +1,139 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.RefreshToken;
+import com.roadtech.entity.User;
+import com.roadtech.exception.UnauthorizedException;
+import com.roadtech.repository.RefreshTokenRepository;
+import com.roadtech.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+// Opaque refresh tokens, looked up by SHA-256 so a database leak exposes no usable tokens
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+
+    @Value("${jwt.refresh-purge.chunk-size:500}")
+    private int purgeChunkSize;
+
+    // Bounds one purge run; whatever is left goes in the next run
+    @Value("${jwt.refresh-purge.max-chunks:100}")
+    private int purgeMaxChunks;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // Starts a new family, i.e. a new login session
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // A token that was already rotated has been copied, so the whole family is revoked
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String presentedToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(presentedToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (refreshToken.isExpired()) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+
+        if (refreshToken.getRotatedAt() != null
+                || refreshTokenRepository.markRotated(refreshToken.getId(), LocalDateTime.now()) == 0) {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            log.warn("Refresh token reuse detected, revoked family {}", refreshToken.getFamilyId());
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        User user = refreshToken.getUser();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw new UnauthorizedException("Account is deactivated");
+        }
+
+        return new Rotation(user, issue(user, refreshToken.getFamilyId()));
+    }
+
+    // Logging out ends the session the token belongs to
+    @Transactional
+    public void revoke(String presentedToken) {
+        refreshTokenRepository.findByTokenHash(hash(presentedToken))
+                .ifPresent(refreshToken -> refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge.interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+
+        try {
+            for (int chunk = 0; chunk < purgeMaxChunks; chunk++) {
+                List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeChunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                // Each chunk commits on its own so row locks are held only briefly
+                purged += refreshTokenRepository.deleteByIdIn(ids);
+                if (ids.size() < purgeChunkSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to purge expired refresh tokens: {}", e.getMessage());
+        }
+
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String tokenValue = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(tokenValue))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusSeconds(jwtService.getRefreshTokenExpiration() / 1000))
+                .build();
+
+        refreshTokenRepository.save(refreshToken);
+        return tokenValue;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
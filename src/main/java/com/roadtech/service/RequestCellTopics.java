@@ -0,0 +1,79 @@
+package com.roadtech.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// NEW_REQUEST topics per lat/lng cell; remembers each mechanic's cell so a move can be announced
+@Component
+public class RequestCellTopics {
+
+    private static final String TOPIC_PREFIX = "/topic/mechanic/requests/cell/";
+
+    @Value("${notification.request-cells.size-deg:0.25}")
+    private double cellSizeDeg;
+
+    @Value("${notification.request-cells.radius-km:30}")
+    private double radiusKm;
+
+    private final Map<Long, String> mechanicTopics = new ConcurrentHashMap<>();
+
+    public String topicFor(double latitude, double longitude) {
+        return topic(latIndex(latitude), Math.floorMod(lngIndex(longitude), lngCells()));
+    }
+
+    // Cells overlapping the box around the request, wrapping at the antimeridian
+    public List<String> topicsNear(double latitude, double longitude) {
+        BoundingBox box = BoundingBox.unwrapped(latitude, longitude, radiusKm);
+
+        int lngCells = lngCells();
+        int firstLng = lngIndex(box.minLng());
+        int lastLng = Math.min(lngIndex(box.maxLng()), firstLng + lngCells - 1);
+
+        Set<String> topics = new LinkedHashSet<>();
+        for (int latIdx = latIndex(box.minLat()); latIdx <= latIndex(box.maxLat()); latIdx++) {
+            for (int lngIdx = firstLng; lngIdx <= lastLng; lngIdx++) {
+                topics.add(topic(latIdx, Math.floorMod(lngIdx, lngCells)));
+            }
+        }
+        return new ArrayList<>(topics);
+    }
+
+    // Returns the new topic when the mechanic moved into another cell, otherwise null
+    public String track(Long userId, double latitude, double longitude) {
+        String topic = topicFor(latitude, longitude);
+        String previous = mechanicTopics.put(userId, topic);
+        return topic.equals(previous) ? null : topic;
+    }
+
+    public String currentTopic(Long userId) {
+        return mechanicTopics.get(userId);
+    }
+
+    public void untrack(Long userId) {
+        mechanicTopics.remove(userId);
+    }
+
+    private int latIndex(double latitude) {
+        int maxIndex = (int) Math.ceil(180.0 / cellSizeDeg) - 1;
+        return Math.min(maxIndex, (int) Math.floor((latitude + 90.0) / cellSizeDeg));
+    }
+
+    private int lngIndex(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellSizeDeg);
+    }
+
+    private int lngCells() {
+        return (int) Math.ceil(360.0 / cellSizeDeg);
+    }
+
+    private static String topic(int latIdx, int lngIdx) {
+        return TOPIC_PREFIX + latIdx + "_" + lngIdx;
+    }
+}
@@ -0,0 +1,388 @@
+package com.roadtech.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// A* travel times over a CSR road graph from a local little-endian file:
+//   int magic 'RTGR', int nodeCount, int edgeCount,
+//   int[nodeCount] latitude E7, int[nodeCount] longitude E7, int[nodeCount + 1] first edge per node,
+//   int[edgeCount] target node, int[edgeCount] travel time in tenths of a second
+@Component
+@Slf4j
+public class RoadNetworkRouter {
+
+    private static final int MAGIC = 0x52544752;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double SNAP_CELL_DEG = 0.01;
+
+    @Value("${location.routing.graph-file:}")
+    private String graphFile;
+
+    @Value("${location.routing.max-snap-m:1000}")
+    private double maxSnapMeters;
+
+    // Must not be slower than the fastest edge or A* stops being exact
+    @Value("${location.routing.max-speed-kmh:130}")
+    private double maxSpeedKmh;
+
+    // Speed used for the legs between the real points and their snapped nodes
+    @Value("${location.routing.access-speed-kmh:20}")
+    private double accessSpeedKmh;
+
+    @Value("${location.routing.max-settled-nodes:500000}")
+    private int maxSettledNodes;
+
+    // Each state holds three int arrays per graph node, so the pool, not the thread count, bounds memory
+    @Value("${location.routing.search-states:4}")
+    private int searchStates;
+
+    // How long a query waits for a free state before falling back to the straight-line estimate
+    @Value("${location.routing.search-wait-ms:50}")
+    private long searchWaitMs;
+
+    private volatile Graph graph;
+
+    private BlockingQueue<SearchState> searchStatePool;
+
+    @PostConstruct
+    public void load() {
+        searchStatePool = new ArrayBlockingQueue<>(searchStates);
+        for (int i = 0; i < searchStates; i++) {
+            searchStatePool.add(new SearchState());
+        }
+
+        if (graphFile == null || graphFile.isBlank()) {
+            log.info("No road graph configured, ETAs use straight-line estimates");
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(graphFile), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a road graph file");
+            }
+            int nodeCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            if (nodeCount < 0 || edgeCount < 0
+                    || channel.size() != 12 + 4L * (3L * nodeCount + 1 + 2L * edgeCount)) {
+                throw new IOException("Corrupt road graph: size does not match its node and edge counts");
+            }
+
+            IntBuffer ints = buffer.asIntBuffer();
+            int[] lat = new int[nodeCount];
+            int[] lng = new int[nodeCount];
+            int[] firstEdge = new int[nodeCount + 1];
+            int[] target = new int[edgeCount];
+            int[] cost = new int[edgeCount];
+            ints.get(lat).get(lng).get(firstEdge).get(target).get(cost);
+            validate(lat, lng, firstEdge, target, cost);
+
+            graph = new Graph(lat, lng, firstEdge, target, cost, buildSnapGrid(lat, lng));
+            log.info("Loaded road graph {} with {} nodes and {} edges", graphFile, nodeCount, edgeCount);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load road graph {}: {}", graphFile, e.getMessage());
+        }
+    }
+
+    // A bad offset or target would otherwise surface as an ArrayIndexOutOfBounds deep inside a query
+    private static void validate(int[] lat, int[] lng, int[] firstEdge, int[] target, int[] cost)
+            throws IOException {
+        int nodeCount = lat.length;
+        for (int node = 0; node < nodeCount; node++) {
+            if (Math.abs(lat[node]) > 900_000_000 || Math.abs(lng[node]) > 1_800_000_000) {
+                throw new IOException("Corrupt road graph: node " + node + " has coordinates out of range");
+            }
+        }
+        if (firstEdge[0] != 0 || firstEdge[nodeCount] != target.length) {
+            throw new IOException("Corrupt road graph: edge offsets do not span the edge arrays");
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            if (firstEdge[node] > firstEdge[node + 1]) {
+                throw new IOException("Corrupt road graph: edge offsets decrease at node " + node);
+            }
+        }
+        for (int e = 0; e < target.length; e++) {
+            if (target[e] < 0 || target[e] >= nodeCount || cost[e] < 0) {
+                throw new IOException("Corrupt road graph: edge " + e + " has a bad target or cost");
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return graph != null;
+    }
+
+    // Travel time in seconds, or empty without a graph, a nearby road or a route within budget
+    public OptionalDouble travelTimeSeconds(double fromLat, double fromLng, double toLat, double toLng) {
+        Graph g = graph;
+        if (g == null) {
+            return OptionalDouble.empty();
+        }
+
+        int source = snap(g, fromLat, fromLng);
+        int target = snap(g, toLat, toLng);
+        if (source < 0 || target < 0) {
+            return OptionalDouble.empty();
+        }
+
+        int tenths = source == target ? 0 : route(g, source, target);
+        if (tenths < 0) {
+            return OptionalDouble.empty();
+        }
+
+        double accessMetersPerSecond = accessSpeedKmh / 3.6;
+        double accessMeters = distanceMeters(fromLat, fromLng, g.lat(source), g.lng(source))
+                + distanceMeters(g.lat(target), g.lng(target), toLat, toLng);
+
+        return OptionalDouble.of(tenths / 10.0 + accessMeters / accessMetersPerSecond);
+    }
+
+    private int route(Graph g, int source, int target) {
+        SearchState s;
+        try {
+            s = searchStatePool.poll(searchWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+        if (s == null) {
+            return -1;
+        }
+
+        try {
+            return route(g, s, source, target);
+        } finally {
+            searchStatePool.add(s);
+        }
+    }
+
+    private int route(Graph g, SearchState s, int source, int target) {
+        s.prepare(g.nodeCount());
+
+        double targetLat = g.lat(target);
+        double targetLng = g.lng(target);
+        // Tenths of a second needed per metre at the fastest possible speed
+        double heuristicScale = 10.0 / (maxSpeedKmh / 3.6);
+
+        s.reach(source, 0);
+        s.push(source, heuristicScale * distanceMeters(g.lat(source), g.lng(source), targetLat, targetLng));
+
+        int settled = 0;
+        while (!s.isEmpty()) {
+            int node = s.pop();
+            if (s.isSettled(node)) {
+                continue;
+            }
+            if (node == target) {
+                return s.distance(node);
+            }
+            s.settle(node);
+            if (++settled > maxSettledNodes) {
+                return -1;
+            }
+
+            int base = s.distance(node);
+            for (int e = g.firstEdge()[node], end = g.firstEdge()[node + 1]; e < end; e++) {
+                int next = g.target()[e];
+                int candidate = base + g.cost()[e];
+
+                if (!s.isSettled(next) && (!s.isReached(next) || candidate < s.distance(next))) {
+                    s.reach(next, candidate);
+                    s.push(next, candidate
+                            + heuristicScale * distanceMeters(g.lat(next), g.lng(next), targetLat, targetLng));
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int snap(Graph g, double latitude, double longitude) {
+        int latIdx = (int) Math.floor(latitude / SNAP_CELL_DEG);
+        int lngIdx = (int) Math.floor(longitude / SNAP_CELL_DEG);
+
+        // Enough cells to cover maxSnapMeters; longitude cells narrow away from the equator
+        double cellMeters = SNAP_CELL_DEG * METERS_PER_DEGREE;
+        int latRings = (int) Math.ceil(maxSnapMeters / cellMeters);
+        int lngRings = (int) Math.min(Math.ceil(maxSnapMeters / (cellMeters * Math.cos(Math.toRadians(latitude)))),
+                180 / SNAP_CELL_DEG);
+
+        int best = -1;
+        double bestMeters = maxSnapMeters;
+        for (int dLat = -latRings; dLat <= latRings; dLat++) {
+            for (int dLng = -lngRings; dLng <= lngRings; dLng++) {
+                int[] nodes = g.snapGrid().get(cellKey(latIdx + dLat, lngIdx + dLng));
+                if (nodes == null) {
+                    continue;
+                }
+                for (int node : nodes) {
+                    double meters = distanceMeters(latitude, longitude, g.lat(node), g.lng(node));
+                    if (meters <= bestMeters) {
+                        bestMeters = meters;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static Map<Long, int[]> buildSnapGrid(int[] lat, int[] lng) {
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int node = 0; node < lat.length; node++) {
+            long key = cellKey(
+                    (int) Math.floor(lat[node] / 1e7 / SNAP_CELL_DEG),
+                    (int) Math.floor(lng[node] / 1e7 / SNAP_CELL_DEG));
+            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        }
+
+        Map<Long, int[]> grid = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, nodes) ->
+                grid.put(key, nodes.stream().mapToInt(Integer::intValue).toArray()));
+        return grid;
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = lat2 - lat1;
+        double dLng = (lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        return Math.sqrt(dLat * dLat + dLng * dLng) * METERS_PER_DEGREE;
+    }
+
+    private record Graph(int[] latE7, int[] lngE7, int[] firstEdge, int[] target, int[] cost,
+                         Map<Long, int[]> snapGrid) {
+
+        int nodeCount() {
+            return latE7.length;
+        }
+
+        double lat(int node) {
+            return latE7[node] / 1e7;
+        }
+
+        double lng(int node) {
+            return lngE7[node] / 1e7;
+        }
+    }
+
+    // Pooled search arrays; generation stamps stand in for clearing them between queries
+    private static final class SearchState {
+
+        private int[] distance = new int[0];
+        private int[] reachedAt = new int[0];
+        private int[] settledAt = new int[0];
+        private int generation;
+
+        private int[] heapNodes = new int[1024];
+        private double[] heapKeys = new double[1024];
+        private int heapSize;
+
+        void prepare(int nodeCount) {
+            if (distance.length < nodeCount) {
+                distance = new int[nodeCount];
+                reachedAt = new int[nodeCount];
+                settledAt = new int[nodeCount];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(reachedAt, 0);
+                Arrays.fill(settledAt, 0);
+                generation = 1;
+            }
+            heapSize = 0;
+        }
+
+        boolean isReached(int node) {
+            return reachedAt[node] == generation;
+        }
+
+        boolean isSettled(int node) {
+            return settledAt[node] == generation;
+        }
+
+        int distance(int node) {
+            return distance[node];
+        }
+
+        void reach(int node, int value) {
+            distance[node] = value;
+            reachedAt[node] = generation;
+        }
+
+        void settle(int node) {
+            settledAt[node] = generation;
+        }
+
+        boolean isEmpty() {
+            return heapSize == 0;
+        }
+
+        void push(int node, double key) {
+            if (heapSize == heapNodes.length) {
+                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapKeys[parent] <= key) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[parent];
+                heapKeys[i] = heapKeys[parent];
+                i = parent;
+            }
+            heapNodes[i] = node;
+            heapKeys[i] = key;
+        }
+
+        int pop() {
+            int top = heapNodes[0];
+            int lastNode = heapNodes[--heapSize];
+            double lastKey = heapKeys[heapSize];
+
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                    child++;
+                }
+                if (heapKeys[child] >= lastKey) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[child];
+                heapKeys[i] = heapKeys[child];
+                i = child;
+            }
+            heapNodes[i] = lastNode;
+            heapKeys[i] = lastKey;
+            return top;
+        }
+    }
+}
@@ -9,14 +9,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.roadtech.dto.request.CreateServiceRequestDto;
 import com.roadtech.dto.request.ServiceRequestDto;
-import com.roadtech.entity.MechanicProfile;
 import com.roadtech.entity.ServiceRequest;
 import com.roadtech.entity.ServiceRequest.RequestStatus;
 import com.roadtech.entity.User;
 import com.roadtech.exception.BadRequestException;
 import com.roadtech.exception.ForbiddenException;
 import com.roadtech.exception.ResourceNotFoundException;
-import com.roadtech.repository.MechanicProfileRepository;
 import com.roadtech.repository.ServiceRequestRepository;
 import com.roadtech.repository.UserRepository;
 
@@ -31,8 +29,6 @@ public class ServiceRequestService {
     private final ServiceRequestRepository serviceRequestRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
-    private final MechanicProfileRepository mechanicRepo;
-    private final TelegramNotificationService telegramService;
     @Transactional
     public ServiceRequestDto createRequest(Long userId, CreateServiceRequestDto dto) {
 
@@ -60,19 +56,11 @@ public class ServiceRequestService {
         // 🔔 Existing notification (WebSocket / DB / etc.)
         notificationService.notifyNewRequest(request);
 
-        // 📲 NEW: Telegram notification to mechanics
-        List<MechanicProfile> mechanics =
-                mechanicRepo.findAllAvailableWithUser();
+        // 📲 Telegram notification to mechanics, relayed after commit
+        String mapsLink = "https://www.google.com/maps/dir/?api=1&destination=%f,%f,"
+                .formatted(request.getLatitude(), request.getLongitude());
 
-        for (MechanicProfile mechanic : mechanics) {
-            User mechanicUser = mechanic.getUser();
-
-            if (mechanicUser.getTelegramChatId() != null) {
-            	String mapsLink = "https://www.google.com/maps/dir/?api=1&destination=%f,%f,"
-            	        .formatted(request.getLatitude(), request.getLongitude());
-            	
-
-                String msg = """
+        String msg = """
                 🚨 New Service Request
 
                 Issue: %s
@@ -81,17 +69,12 @@ public class ServiceRequestService {
 
                 Open RoadTech app to accept
                 """.formatted(
-                    request.getIssueType(),
-                    mapsLink,
-                    request.getId()
-                );
-
-                telegramService.sendMessage(
-                        mechanicUser.getTelegramChatId(),
-                        msg
-                );
-            }
-        }
+                request.getIssueType(),
+                mapsLink,
+                request.getId()
+        );
+
+        notificationService.notifyMechanicsByTelegram(msg);
 
         return ServiceRequestDto.fromEntity(request);
     }
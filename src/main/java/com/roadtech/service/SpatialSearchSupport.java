@@ -0,0 +1,84 @@
+package com.roadtech.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Optional MySQL mode: a generated POINT column with a SPATIAL INDEX for provider searches
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpatialSearchSupport {
+
+    private static final List<SpatialColumn> COLUMNS = List.of(
+            new SpatialColumn("parts_providers", "longitude", "latitude", "idx_provider_location_point")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${location.spatial.enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean active;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+
+            if (product == null || !product.toLowerCase().contains("mysql")) {
+                log.warn("Spatial search requested but database is {}, using DECIMAL queries", product);
+                return;
+            }
+
+            COLUMNS.forEach(this::ensureColumn);
+            active = true;
+            log.info("Spatial search enabled on {} tables", COLUMNS.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to prepare spatial columns, using DECIMAL queries: {}", e.getMessage());
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    private void ensureColumn(SpatialColumn column) {
+        if (hasLocationColumn(column.table())) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+                ALTER TABLE %s
+                ADD COLUMN location POINT SRID 4326
+                    GENERATED ALWAYS AS (ST_SRID(POINT(%s, %s), 4326)) STORED NOT NULL,
+                ADD SPATIAL INDEX %s (location)
+                """.formatted(column.table(), column.longitudeExpr(), column.latitudeExpr(), column.indexName()));
+
+        log.info("Added spatial location column to {}", column.table());
+    }
+
+    private boolean hasLocationColumn(String table) {
+        Integer existing = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'location'
+                """, Integer.class, table);
+        return existing != null && existing > 0;
+    }
+
+    private record SpatialColumn(String table, String longitudeExpr, String latitudeExpr, String indexName) {
+    }
+}
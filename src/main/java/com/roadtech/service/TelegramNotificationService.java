@@ -1,23 +1,124 @@
 package com.roadtech.service;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roadtech.repository.MechanicProfileRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+// Callers only enqueue; workers send within the bot API rate limits and retry 429 / 5xx with backoff
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class TelegramNotificationService {
 
+    private final MechanicProfileRepository mechanicProfileRepository;
+    private final ObjectMapper objectMapper;
+
     // Safety: empty default prevents startup failure
     @Value("${telegram.bot.token:}")
     private String botToken;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${telegram.api-base-url:https://api.telegram.org}")
+    private String apiBaseUrl;
+
+    @Value("${telegram.delivery.workers:4}")
+    private int workers;
+
+    @Value("${telegram.delivery.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${telegram.delivery.global-per-second:30}")
+    private int globalPerSecond;
+
+    @Value("${telegram.delivery.per-chat-interval-ms:1000}")
+    private long perChatIntervalMs;
+
+    @Value("${telegram.delivery.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${telegram.delivery.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${telegram.delivery.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    private final DelayQueue<Delivery> queue = new DelayQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, Long> nextChatSlot = new ConcurrentHashMap<>();
+    private final AtomicLong nextGlobalSlotNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private HttpClient httpClient;
+    private ExecutorService workerPool;
+    private ExecutorService fanOutExecutor;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(requestTimeoutMs))
+                .build();
+
+        AtomicInteger threadIds = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "telegram-sender-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        fanOutExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telegram-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerPool.submit(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        fanOutExecutor.shutdownNow();
+        workerPool.shutdownNow();
+        workerPool.awaitTermination(5, TimeUnit.SECONDS);
+
+        if (queued.get() > 0) {
+            log.warn("Discarding {} undelivered Telegram messages on shutdown", queued.get());
+        }
+    }
 
     public void sendMessage(Long chatId, String message) {
 
@@ -33,22 +134,207 @@ public class TelegramNotificationService {
             return;
         }
 
+        // 🛡️ Safety 3: never let a Telegram backlog grow without bound
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            log.warn("Telegram queue full, dropping message to chatId={}", chatId);
+            return;
+        }
+
+        queue.put(new Delivery(chatId, message, 1, System.currentTimeMillis()));
+    }
+
+    // The chat id lookup runs off the caller's thread, so its cost does not grow with the fleet
+    public void notifyAvailableMechanics(String message) {
+        if (botToken == null || botToken.isBlank()) {
+            log.debug("Telegram bot token not configured, skipping mechanic broadcast");
+            return;
+        }
+
+        fanOutExecutor.execute(() -> {
+            try {
+                List<Long> chatIds = mechanicProfileRepository.findAvailableTelegramChatIds();
+                chatIds.forEach(chatId -> sendMessage(chatId, message));
+                log.debug("Queued Telegram broadcast for {} mechanics", chatIds.size());
+            } catch (DataAccessException e) {
+                log.error("Failed to load mechanics for Telegram broadcast: {}", e.getMessage());
+            }
+        });
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (delivery == null) {
+                continue;
+            }
+
+            // Every delivery taken off the queue is either put back or leaves the count here
+            boolean requeued = false;
+            try {
+                // Another message to this chat went out too recently; park this one instead of blocking
+                long chatReadyAt = reserveChatSlot(delivery.chatId());
+                if (chatReadyAt > 0) {
+                    queue.put(delivery.delayedUntil(chatReadyAt));
+                    requeued = true;
+                    continue;
+                }
+
+                awaitGlobalSlot();
+                requeued = deliver(delivery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Telegram worker error", e);
+            } finally {
+                if (!requeued) {
+                    queued.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    // Returns true when the delivery went back on the queue for a retry
+    private boolean deliver(Delivery delivery) throws InterruptedException {
+        long retryAfterMs;
+
         try {
-            String url =
-                    "https://api.telegram.org/bot" + botToken + "/sendMessage";
+            HttpRequest request = HttpRequest.newBuilder(sendMessageUri())
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(delivery)))
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+
+            if (status == 200) {
+                sent.increment();
+                log.debug("Telegram message sent to chatId={}", delivery.chatId());
+                return false;
+            }
+
+            if (status == 429) {
+                long retryAfterSeconds = objectMapper.readTree(response.body())
+                        .path("parameters").path("retry_after").asLong(0);
+                retryAfterMs = Math.max(retryAfterSeconds * 1000, backoffMs(delivery.attempt()));
+            } else if (status >= 500) {
+                retryAfterMs = backoffMs(delivery.attempt());
+            } else {
+                // Blocked bot, unknown chat and the like will not fix themselves
+                failed.increment();
+                log.warn("Telegram rejected message to chatId={} with status {}: {}",
+                        delivery.chatId(), status, response.body());
+                return false;
+            }
+        } catch (IOException e) {
+            // 🛡️ Network / Telegram API issues
+            retryAfterMs = backoffMs(delivery.attempt());
+            log.debug("Telegram send to chatId={} failed: {}", delivery.chatId(), e.getMessage());
+        }
+
+        if (delivery.attempt() >= maxAttempts) {
+            failed.increment();
+            log.error("Giving up on Telegram message to chatId={} after {} attempts",
+                    delivery.chatId(), delivery.attempt());
+            return false;
+        }
+
+        retried.increment();
+        queue.put(delivery.retryAt(System.currentTimeMillis() + retryAfterMs));
+        return true;
+    }
+
+    // Returns 0 when the chat slot was taken, otherwise when the chat is free again
+    private long reserveChatSlot(Long chatId) {
+        long now = System.currentTimeMillis();
+        long[] readyAt = {0};
+
+        nextChatSlot.compute(chatId, (id, next) -> {
+            if (next != null && next > now) {
+                readyAt[0] = next;
+                return next;
+            }
+            return now + perChatIntervalMs;
+        });
+        return readyAt[0];
+    }
+
+    // Spreads sends evenly so the global rate never exceeds globalPerSecond
+    private void awaitGlobalSlot() throws InterruptedException {
+        long spacingNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, globalPerSecond);
+        long now = System.nanoTime();
+        // nanoTime values only compare by difference; the origin is arbitrary and may be negative
+        long previous = nextGlobalSlotNanos.getAndUpdate(next -> (next - now > 0 ? next : now) + spacingNanos);
+        long waitNanos = previous - now;
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private long backoffMs(int attempt) {
+        return initialBackoffMs << Math.min(attempt - 1, 10);
+    }
 
-            Map<String, Object> body = Map.of(
-                    "chat_id", chatId,
-                    "text", message
-            );
+    private URI sendMessageUri() {
+        return URI.create(apiBaseUrl + "/bot" + botToken + "/sendMessage");
+    }
 
-            restTemplate.postForObject(url, body, String.class);
+    private String toJson(Delivery delivery) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+                "chat_id", delivery.chatId(),
+                "text", delivery.text()
+        ));
+    }
 
-            log.debug("Telegram message sent to chatId={}", chatId);
+    private record Delivery(Long chatId, String text, int attempt, long notBeforeMillis) implements Delayed {
+
+        Delivery delayedUntil(long millis) {
+            return new Delivery(chatId, text, attempt, millis);
+        }
+
+        Delivery retryAt(long millis) {
+            return new Delivery(chatId, text, attempt + 1, millis);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notBeforeMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
 
-        } catch (RestClientException ex) {
-            // 🛡️ Safety 3: network / Telegram API issues
-            log.error("Failed to send Telegram message to chatId={}", chatId, ex);
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(notBeforeMillis, ((Delivery) other).notBeforeMillis);
         }
     }
 }
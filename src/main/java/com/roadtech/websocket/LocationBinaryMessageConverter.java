@@ -0,0 +1,39 @@
+package com.roadtech.websocket;
+
+import com.roadtech.dto.mechanic.LocationUpdateDto;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+
+// Binary pings for @MessageMapping("/location"); JSON frames still go to the Jackson converter
+public class LocationBinaryMessageConverter extends AbstractMessageConverter {
+
+    public LocationBinaryMessageConverter() {
+        super(LocationWireFormat.MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LocationUpdateDto.class.equals(clazz);
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        // Outbound binary updates are encoded up front, never through this converter
+        return false;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] frame)) {
+            return null;
+        }
+        try {
+            return LocationWireFormat.decodePing(frame);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Invalid binary location frame: " + e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.roadtech.websocket;
 
 import com.roadtech.dto.mechanic.LocationUpdateDto;
+import com.roadtech.entity.User;
 import com.roadtech.security.CustomUserDetails;
 import com.roadtech.service.MechanicService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 
 @Controller
@@ -17,12 +17,14 @@ public class LocationController {
 
     private final MechanicService mechanicService;
 
+    // userDetails is the principal cached on the session at CONNECT
     @MessageMapping("/location")
     public void handleLocationUpdate(
-            @AuthenticationPrincipal CustomUserDetails userDetails,
+            CustomUserDetails userDetails,
             @Payload LocationUpdateDto locationDto
     ) {
-        if (userDetails != null) {
+        // Only mechanics have a profile row to update
+        if (userDetails != null && userDetails.getRole() == User.UserRole.MECHANIC) {
             log.debug("Received location update from mechanic {}: {}, {}",
                     userDetails.getUserId(),
                     locationDto.getLatitude(),
@@ -0,0 +1,113 @@
+package com.roadtech.websocket;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Live subscriptions per request and location format, so updates are only encoded in formats someone reads
+@Component
+public class LocationSubscriptions {
+
+    // On /topic/request/{id}, "binary" opts the subscription out of JSON location updates
+    public static final String FORMAT_HEADER = "location-format";
+
+    private static final String REQUEST_TOPIC = "/topic/request/";
+    private static final String BINARY_SUFFIX = "/location";
+
+    private final Map<String, Map<String, Subscription>> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, int[]> counts = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+
+        Subscription subscription = parse(accessor.getDestination(), accessor.getFirstNativeHeader(FORMAT_HEADER));
+        if (subscription == null) {
+            return;
+        }
+
+        Subscription previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, subscription);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(subscription, 1);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Subscription> subscriptions = accessor.getSessionId() != null
+                ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        Subscription removed = subscriptions.remove(accessor.getSubscriptionId());
+        if (removed != null) {
+            adjust(removed, -1);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Subscription> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(subscription -> adjust(subscription, -1));
+        }
+    }
+
+    public boolean wantsJson(Long requestId) {
+        int[] count = counts.get(requestId);
+        return count != null && count[0] > 0;
+    }
+
+    public boolean wantsBinary(Long requestId) {
+        int[] count = counts.get(requestId);
+        return count != null && count[1] > 0;
+    }
+
+    private void adjust(Subscription subscription, int delta) {
+        int slot = subscription.binary() ? 1 : 0;
+        counts.compute(subscription.requestId(), (id, count) -> {
+            int[] current = count != null ? count : new int[2];
+            current[slot] = Math.max(0, current[slot] + delta);
+            return current[0] == 0 && current[1] == 0 ? null : current;
+        });
+    }
+
+    // Null for destinations that carry no location updates, or a JSON topic that opted out of them
+    private static Subscription parse(String destination, String format) {
+        if (destination == null || !destination.startsWith(REQUEST_TOPIC)) {
+            return null;
+        }
+
+        String rest = destination.substring(REQUEST_TOPIC.length());
+        boolean binary = rest.endsWith(BINARY_SUFFIX);
+        if (binary) {
+            rest = rest.substring(0, rest.length() - BINARY_SUFFIX.length());
+        } else if ("binary".equalsIgnoreCase(format)) {
+            return null;
+        }
+
+        try {
+            return new Subscription(Long.parseLong(rest), binary);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Subscription(Long requestId, boolean binary) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.roadtech.websocket;
+
+import com.roadtech.dto.mechanic.LocationUpdateDto;
+import org.springframework.util.MimeType;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+// Big-endian binary location frames, E7 fixed-point coordinates; fix age is ms between the fix and sending
+//   ping   (client -> /app/location, 13 bytes): kind 1, lat, lng, fix age
+//   update (server -> /topic/request/{id}/location, 29 bytes): kind 2, request id, mechanic id, lat, lng, fix age
+//   batch point (24 bytes, no header): mechanic id (0 = uploader), lat, lng, recorded-at epoch ms
+public final class LocationWireFormat {
+
+    // application/octet-stream makes native WebSocket sessions carry the frame as binary
+    public static final MimeType MIME_TYPE =
+            new MimeType("application", "octet-stream", Map.of("format", "location-v1"));
+
+    public static final int PING_LENGTH = 13;
+    public static final int UPDATE_LENGTH = 29;
+    public static final int BATCH_POINT_LENGTH = 24;
+
+    private static final byte PING = 1;
+    private static final byte UPDATE = 2;
+    public static final double E7 = 1e7;
+
+    private LocationWireFormat() {
+    }
+
+    public static LocationUpdateDto decodePing(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        if (!isValidPing(buffer)) {
+            throw new IllegalArgumentException("Not a valid location ping frame");
+        }
+        return new LocationUpdateDto(pingLatitude(buffer), pingLongitude(buffer), pingFixAgeMs(buffer));
+    }
+
+    // Allocation-free absolute reads, the buffer is not consumed
+    public static boolean isValidPing(ByteBuffer frame) {
+        return frame.remaining() == PING_LENGTH
+                && frame.get(frame.position()) == PING
+                && Math.abs(pingLatitude(frame)) <= 90.0
+                && Math.abs(pingLongitude(frame)) <= 180.0;
+    }
+
+    public static double pingLatitude(ByteBuffer frame) {
+        return frame.getInt(frame.position() + 1) / E7;
+    }
+
+    public static double pingLongitude(ByteBuffer frame) {
+        return frame.getInt(frame.position() + 5) / E7;
+    }
+
+    public static long pingFixAgeMs(ByteBuffer frame) {
+        return Math.max(0, frame.getInt(frame.position() + 9));
+    }
+
+    public static byte[] encodeUpdate(long requestId, long mechanicId,
+                                      double latitude, double longitude, long ageMs) {
+        return ByteBuffer.allocate(UPDATE_LENGTH)
+                .put(UPDATE)
+                .putLong(requestId)
+                .putLong(mechanicId)
+                .putInt((int) Math.round(latitude * E7))
+                .putInt((int) Math.round(longitude * E7))
+                .putInt((int) Math.min(Integer.MAX_VALUE, Math.max(0, ageMs)))
+                .array();
+    }
+}
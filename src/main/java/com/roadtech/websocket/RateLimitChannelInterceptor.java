@@ -0,0 +1,43 @@
+package com.roadtech.websocket;
+
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+// Drops /app/location frames beyond the LOCATION rate; returning null keeps the session open
+@Component
+@RequiredArgsConstructor
+public class RateLimitChannelInterceptor implements ChannelInterceptor {
+
+    private static final String LOCATION_DESTINATION = "/app/location";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !LOCATION_DESTINATION.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+            return message;
+        }
+
+        return rateLimiter.tryAcquire(RateLimiter.RouteClass.LOCATION, clientKey(message)) ? message : null;
+    }
+
+    private Object clientKey(Message<?> message) {
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (user instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails details) {
+            return details.getUserId();
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+}
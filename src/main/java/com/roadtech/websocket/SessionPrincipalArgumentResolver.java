@@ -0,0 +1,24 @@
+package com.roadtech.websocket;
+
+import com.roadtech.security.CustomUserDetails;
+import org.springframework.core.MethodParameter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.util.Map;
+
+// Hands @MessageMapping methods the principal bound on CONNECT, or null for an anonymous session
+public class SessionPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CustomUserDetails.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, Message<?> message) {
+        Map<String, Object> sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        return sessionAttributes != null ? sessionAttributes.get(WebSocketAuthInterceptor.SESSION_PRINCIPAL) : null;
+    }
+}
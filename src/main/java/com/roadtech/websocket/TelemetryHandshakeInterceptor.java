@@ -0,0 +1,83 @@
+package com.roadtech.websocket;
+
+import com.roadtech.entity.User;
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.CustomUserDetailsService;
+import com.roadtech.security.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+// Authenticates the telemetry socket at the upgrade; frames only check the cached expiry and revocation
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TelemetryHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ID = "telemetry.userId";
+    public static final String EXPIRES_AT = "telemetry.expiresAt";
+
+    // Browsers cannot set headers on a WebSocket, so they offer the token as a subprotocol
+    public static final String SUBPROTOCOL = "telemetry.v1";
+    private static final String TOKEN_PROTOCOL_PREFIX = "bearer.";
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String jwt = extractToken(request);
+        if (jwt == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        try {
+            Claims claims = jwtService.validateToken(jwt);
+            CustomUserDetails userDetails = userDetailsService.loadUserFromClaims(claims);
+            if (userDetails.getRole() != User.UserRole.MECHANIC) {
+                response.setStatusCode(HttpStatus.FORBIDDEN);
+                return false;
+            }
+
+            attributes.put(USER_ID, userDetails.getUserId());
+            attributes.put(EXPIRES_AT, claims.getExpiration().getTime());
+            return true;
+        } catch (Exception e) {
+            log.debug("Telemetry handshake rejected: {}", e.getMessage());
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    // Query strings end up in access logs, so the token is only taken from headers
+    private static String extractToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+
+        for (String protocol : new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol()) {
+            if (protocol.startsWith(TOKEN_PROTOCOL_PREFIX)) {
+                return protocol.substring(TOKEN_PROTOCOL_PREFIX.length());
+            }
+        }
+        return null;
+    }
+}
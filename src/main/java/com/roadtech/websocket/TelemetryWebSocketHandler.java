@@ -0,0 +1,89 @@
+package com.roadtech.websocket;
+
+import com.roadtech.security.RateLimiter;
+import com.roadtech.security.RevokedUserRegistry;
+import com.roadtech.service.MechanicService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Raw binary ping ingest with no STOMP parsing per frame; text frames are refused by the base class
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TelemetryWebSocketHandler extends BinaryWebSocketHandler implements SubProtocolCapable {
+
+    private static final CloseStatus TOKEN_EXPIRED = new CloseStatus(4401, "Token expired");
+    private static final CloseStatus REVOKED = new CloseStatus(4403, "Access revoked");
+
+    private final MechanicService mechanicService;
+    private final RateLimiter rateLimiter;
+    private final RevokedUserRegistry revokedUserRegistry;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        long expiresAt = (Long) session.getAttributes().get(TelemetryHandshakeInterceptor.EXPIRES_AT);
+        if (System.currentTimeMillis() >= expiresAt) {
+            // The client reconnects with a fresh token
+            session.close(TOKEN_EXPIRED);
+            return;
+        }
+
+        Long userId = (Long) session.getAttributes().get(TelemetryHandshakeInterceptor.USER_ID);
+        if (revokedUserRegistry.isRevoked(userId)) {
+            session.close(REVOKED);
+            return;
+        }
+
+        ByteBuffer frame = message.getPayload();
+        if (!LocationWireFormat.isValidPing(frame)) {
+            rejected.increment();
+            return;
+        }
+
+        if (!rateLimiter.tryAcquire(RateLimiter.RouteClass.LOCATION, userId)) {
+            rejected.increment();
+            return;
+        }
+
+        mechanicService.updateLocation(
+                userId,
+                LocationWireFormat.pingLatitude(frame),
+                LocationWireFormat.pingLongitude(frame),
+                LocationWireFormat.pingFixAgeMs(frame)
+        );
+        accepted.increment();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        log.debug("Telemetry socket opened for mechanic {}", session.getAttributes().get(TelemetryHandshakeInterceptor.USER_ID));
+    }
+
+    // Echoed back instead of the token subprotocol the client also offered
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(TelemetryHandshakeInterceptor.SUBPROTOCOL);
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
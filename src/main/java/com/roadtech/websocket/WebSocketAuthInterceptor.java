@@ -3,30 +3,59 @@ package com.roadtech.websocket;
 import com.roadtech.security.CustomUserDetails;
 import com.roadtech.security.CustomUserDetailsService;
 import com.roadtech.security.JwtService;
+import com.roadtech.security.RevokedUserRegistry;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 
+// Verifies the token on CONNECT only; later frames check the cached expiry and revocation
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    public static final String SESSION_PRINCIPAL = "stomp.principal";
+    public static final String SESSION_EXPIRES_AT = "stomp.expiresAt";
+
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final RevokedUserRegistry revokedUserRegistry;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+
+        if (messageType == SimpMessageType.MESSAGE || messageType == SimpMessageType.SUBSCRIBE) {
+            Map<String, Object> sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+            Long expiresAt = sessionAttributes != null ? (Long) sessionAttributes.get(SESSION_EXPIRES_AT) : null;
+
+            // The client gets an ERROR frame and reconnects with a fresh token
+            if (expiresAt != null && expiresAt <= System.currentTimeMillis()) {
+                throw new MessageDeliveryException(message, "Token expired");
+            }
+
+            Object principal = sessionAttributes != null ? sessionAttributes.get(SESSION_PRINCIPAL) : null;
+            if (principal instanceof CustomUserDetails userDetails
+                    && revokedUserRegistry.isRevoked(userDetails.getUserId())) {
+                throw new MessageDeliveryException(message, "Access revoked");
+            }
+            return message;
+        }
+
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
@@ -39,23 +68,26 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                     String jwt = authHeader.substring(7);
 
                     try {
-                        String userEmail = jwtService.extractUsername(jwt);
+                        Claims claims = jwtService.validateToken(jwt);
 
-                        if (userEmail != null) {
-                            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(userEmail);
+                        if (claims.getSubject() != null) {
+                            CustomUserDetails userDetails = userDetailsService.loadUserFromClaims(claims);
 
-                            if (jwtService.isTokenValid(jwt, userDetails)) {
-                                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
+                            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
 
-                                SecurityContextHolder.getContext().setAuthentication(authToken);
-                                accessor.setUser(authToken);
+                            accessor.setUser(authToken);
 
-                                log.debug("WebSocket authenticated for user: {}", userEmail);
+                            Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+                            if (sessionAttributes != null) {
+                                sessionAttributes.put(SESSION_PRINCIPAL, userDetails);
+                                sessionAttributes.put(SESSION_EXPIRES_AT, claims.getExpiration().getTime());
                             }
+
+                            log.debug("WebSocket authenticated for user: {}", claims.getSubject());
                         }
                     } catch (Exception e) {
                         log.error("WebSocket authentication failed: {}", e.getMessage());
@@ -0,0 +1,8 @@
+-- One-off cleanup for databases that ran the first spatial search mode, which also added
+-- generated location columns to mechanic_profiles and service_requests. No query reads them,
+-- and the mechanic one was rewritten on every location flush. Run once by hand; dropping the
+-- column drops its spatial index with it. Skip a statement if its column is already gone.
+
+ALTER TABLE mechanic_profiles DROP COLUMN location;
+
+ALTER TABLE service_requests DROP COLUMN location;
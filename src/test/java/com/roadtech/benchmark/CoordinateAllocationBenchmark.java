@@ -0,0 +1,69 @@
+package com.roadtech.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.roadtech.dto.mechanic.LocationUpdateDto;
+import com.roadtech.service.LocationService;
+import com.roadtech.service.MechanicLocationBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// One location ping as the server handles it: decode the JSON, measure the move, buffer the fix.
+// bigDecimal replays the BigDecimal + LocalDateTime types the ping path used before; run with -prof gc
+// and compare gc.alloc.rate.norm (bytes per ping)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinateAllocationBenchmark {
+
+    private static final byte[] PAYLOAD = "{\"latitude\":6.92712345,\"longitude\":79.86123456}".getBytes();
+    private static final double PREVIOUS_LAT = 6.9270;
+    private static final double PREVIOUS_LNG = 79.8610;
+
+    private final LocationService locationService = new LocationService(null, null, null);
+    private final ObjectReader doubleReader = new ObjectMapper().readerFor(LocationUpdateDto.class);
+    private final ObjectReader bigDecimalReader = new ObjectMapper().readerFor(BigDecimalPing.class);
+    private final BigDecimal previousLat = BigDecimal.valueOf(PREVIOUS_LAT);
+    private final BigDecimal previousLng = BigDecimal.valueOf(PREVIOUS_LNG);
+
+    @Benchmark
+    public Object doubles() throws IOException {
+        LocationUpdateDto ping = doubleReader.readValue(PAYLOAD);
+        double meters = locationService.calculateDistance(
+                PREVIOUS_LAT, PREVIOUS_LNG, ping.getLatitude(), ping.getLongitude()) * 1000;
+        return meters < 15 ? null : new MechanicLocationBuffer.BufferedLocation(
+                ping.getLatitude(), ping.getLongitude(), System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public Object bigDecimal() throws IOException {
+        BigDecimalPing ping = bigDecimalReader.readValue(PAYLOAD);
+        double meters = locationService.calculateDistance(
+                previousLat.doubleValue(), previousLng.doubleValue(),
+                ping.latitude.doubleValue(), ping.longitude.doubleValue()) * 1000;
+        return meters < 15 ? null : new BigDecimalLocation(ping.latitude, ping.longitude, LocalDateTime.now());
+    }
+
+    public static class BigDecimalPing {
+        public BigDecimal latitude;
+        public BigDecimal longitude;
+    }
+
+    record BigDecimalLocation(BigDecimal latitude, BigDecimal longitude, LocalDateTime updatedAt) {
+    }
+}
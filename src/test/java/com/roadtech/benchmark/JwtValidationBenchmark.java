@@ -0,0 +1,89 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.entity.User;
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token checks per authenticated request. previousFilter replays what JwtAuthFilter did before the
+// validation cache: extractUsername and isTokenValid, three parses each rebuilding the key and parser.
+// The user lookup it also did per request is not included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "dGVzdC1vbmx5LXNlY3JldC1rZXktZm9yLXJvYWR0ZWNoLWp3dC0yNTYtYml0cw==";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "validationCacheMaxSize", 10_000);
+        jwtService.init();
+
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+        token = jwtService.generateAccessToken(new CustomUserDetails(User.builder()
+                .id(42L)
+                .email("bench@test.local")
+                .password("unused")
+                .role(User.UserRole.MECHANIC)
+                .isActive(true)
+                .build()));
+        jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean previousFilter() {
+        String username = parseWithFreshKey().getSubject();
+        return parseWithFreshKey().getSubject().equals(username)
+                && !parseWithFreshKey().getExpiration().before(new Date());
+    }
+
+    // What validateToken costs the first time it sees a token
+    @Benchmark
+    public Claims singleParse() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return jwtService.validateToken(token);
+    }
+
+    private Claims parseWithFreshKey() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
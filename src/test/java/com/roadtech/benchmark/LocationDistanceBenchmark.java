@@ -0,0 +1,74 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.service.LocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// One request against its candidates: batched calculateDistances against calculateDistance per pair.
+// Candidates spread over about 100 km around the request, cutoff at the 60 minute dispatch limit
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationDistanceBenchmark {
+
+    private static final double ORIGIN_LAT = 6.9271;
+    private static final double ORIGIN_LNG = 79.8612;
+
+    @Param({"10", "200", "10000"})
+    private int candidates;
+
+    private final LocationService locationService = new LocationService(null, null, null);
+    private double maxDistanceKm;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] distancesKm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        maxDistanceKm = locationService.maxDistanceKm(60);
+        latitudes = new double[candidates];
+        longitudes = new double[candidates];
+        distancesKm = new double[candidates];
+        for (int i = 0; i < candidates; i++) {
+            latitudes[i] = ORIGIN_LAT + (random.nextDouble() - 0.5) * 0.9;
+            longitudes[i] = ORIGIN_LNG + (random.nextDouble() - 0.5) * 0.9;
+        }
+    }
+
+    @Benchmark
+    public int batched() {
+        return locationService.calculateDistances(ORIGIN_LAT, ORIGIN_LNG,
+                latitudes, longitudes, distancesKm, candidates, maxDistanceKm);
+    }
+
+    @Benchmark
+    public int perPair(Blackhole blackhole) {
+        int within = 0;
+        for (int i = 0; i < candidates; i++) {
+            double distance = locationService.calculateDistance(ORIGIN_LAT, ORIGIN_LNG, latitudes[i], longitudes[i]);
+            if (distance <= maxDistanceKm) {
+                within++;
+            }
+            blackhole.consume(distance);
+        }
+        return within;
+    }
+}
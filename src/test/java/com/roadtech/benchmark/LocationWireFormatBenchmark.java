@@ -0,0 +1,77 @@
+package com.roadtech.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.roadtech.dto.mechanic.LocationUpdateDto;
+import com.roadtech.dto.notification.LocationUpdatePayload;
+import com.roadtech.dto.notification.NotificationMessage;
+import com.roadtech.websocket.LocationWireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+// Location frames in both formats: the server encoding an update for /topic/request/{id} and decoding a
+// mechanic's ping. Frame sizes are printed once per fork; run with -prof gc for bytes allocated per frame
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationWireFormatBenchmark {
+
+    private static final long REQUEST_ID = 48_213;
+    private static final long MECHANIC_ID = 1_907;
+    private static final double LATITUDE = 6.9271234;
+    private static final double LONGITUDE = 79.8612345;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader pingReader = objectMapper.readerFor(LocationUpdateDto.class);
+    private byte[] jsonPing;
+    private byte[] binaryPing;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonPing = objectMapper.writeValueAsBytes(new LocationUpdateDto(LATITUDE, LONGITUDE, 1_500L));
+        binaryPing = ByteBuffer.allocate(LocationWireFormat.PING_LENGTH)
+                .put((byte) 1)
+                .putInt((int) Math.round(LATITUDE * LocationWireFormat.E7))
+                .putInt((int) Math.round(LONGITUDE * LocationWireFormat.E7))
+                .putInt(1_500)
+                .array();
+        System.out.printf("%nping: json %d B, binary %d B; update: json %d B, binary %d B%n",
+                jsonPing.length, binaryPing.length, jsonUpdate().length, binaryUpdate().length);
+    }
+
+    @Benchmark
+    public byte[] jsonUpdate() throws IOException {
+        return objectMapper.writeValueAsBytes(NotificationMessage.of("LOCATION_UPDATE",
+                new LocationUpdatePayload(REQUEST_ID, MECHANIC_ID, LATITUDE, LONGITUDE)));
+    }
+
+    @Benchmark
+    public byte[] binaryUpdate() {
+        return LocationWireFormat.encodeUpdate(REQUEST_ID, MECHANIC_ID, LATITUDE, LONGITUDE, 1_500);
+    }
+
+    @Benchmark
+    public LocationUpdateDto jsonPing() throws IOException {
+        return pingReader.readValue(jsonPing);
+    }
+
+    @Benchmark
+    public LocationUpdateDto binaryPing() {
+        return LocationWireFormat.decodePing(binaryPing);
+    }
+}
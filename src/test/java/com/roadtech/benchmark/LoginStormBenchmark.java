@@ -0,0 +1,124 @@
+package com.roadtech.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roadtech.RoadTechApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency of an ordinary authenticated endpoint (GET /users/me) while clients hammer /auth/login.
+// Sample mode, so the report carries p50/p99/p99.9. Boots the app with the test profile on in-memory H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class LoginStormBenchmark {
+
+    private static final String EMAIL = "storm@bench.local";
+    private static final String PASSWORD = "storm-password";
+
+    // Concurrent login clients; 0 is the baseline
+    @Param({"0", "32"})
+    private int stormClients;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, LongAdder> loginStatuses = new ConcurrentHashMap<>();
+    private final List<Thread> storm = new ArrayList<>();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private HttpRequest profileRequest;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(RoadTechApplication.class)
+                .profiles("test")
+                // Arguments, not default properties, so they win over application.yml
+                .run("--server.port=0",
+                        // Every client shares loopback; the limiter would otherwise stop the storm before BCrypt
+                        "--rate-limit.enabled=false",
+                        "--logging.level.com.roadtech=WARN");
+        baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<String> registered = client.send(post("/auth/register", Map.of(
+                "email", EMAIL,
+                "password", PASSWORD,
+                "fullName", "Storm bench",
+                "phone", "0771234567",
+                "role", "USER")), HttpResponse.BodyHandlers.ofString());
+        String accessToken = objectMapper.readTree(registered.body()).get("accessToken").asText();
+        profileRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/users/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+
+        running = true;
+        HttpRequest login = post("/auth/login", Map.of("email", EMAIL, "password", PASSWORD));
+        for (int i = 0; i < stormClients; i++) {
+            Thread thread = new Thread(() -> {
+                while (running) {
+                    try {
+                        int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        loginStatuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    } catch (IOException | InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "login-storm-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            storm.add(thread);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread thread : storm) {
+            thread.join(10_000);
+        }
+        System.out.println("Login responses by status: " + loginStatuses);
+        context.close();
+    }
+
+    @Benchmark
+    public int profile() throws IOException, InterruptedException {
+        return client.send(profileRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.User;
+import com.roadtech.service.MechanicLocationBuffer;
+import com.roadtech.service.MechanicLocationIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// k-nearest lookup: the grid index against the ORDER BY query it replaced, run on in-memory H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MechanicNearestBenchmark {
+
+    private static final int K = 10;
+
+    // The former MechanicProfileRepository.findNearestAvailableMechanics (POW spelled POWER for H2)
+    private static final String NEAREST_SQL = """
+        SELECT mp.* FROM mechanic_profiles mp
+        JOIN users u ON mp.user_id = u.id
+        WHERE mp.is_available = true
+        AND mp.is_verified = true
+        AND u.is_active = true
+        AND mp.current_latitude IS NOT NULL
+        AND mp.current_longitude IS NOT NULL
+        ORDER BY (
+            POWER(mp.current_latitude - ?, 2) +
+            POWER(mp.current_longitude - ?, 2)
+        ) ASC
+        LIMIT ?
+        """;
+
+    @Param({"10000", "100000", "1000000"})
+    private int mechanics;
+
+    private MechanicLocationIndex index;
+    private Connection connection;
+    private PreparedStatement nearest;
+    private double[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new MechanicLocationIndex(null, new MechanicLocationBuffer(null, null, null));
+        ReflectionTestUtils.setField(index, "cellSizeDeg", 0.05);
+        ReflectionTestUtils.setField(index, "maxRings", 64);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:nearest-" + mechanics + ";MODE=MySQL");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, is_active BOOLEAN)");
+            ddl.execute("""
+                CREATE TABLE mechanic_profiles (user_id BIGINT PRIMARY KEY, is_available BOOLEAN, is_verified BOOLEAN,
+                    current_latitude DECIMAL(10,8), current_longitude DECIMAL(11,8))
+                """);
+        }
+
+        try (PreparedStatement users = connection.prepareStatement("INSERT INTO users VALUES (?, true)");
+             PreparedStatement profiles = connection.prepareStatement(
+                     "INSERT INTO mechanic_profiles VALUES (?, true, true, ?, ?)")) {
+            for (long id = 1; id <= mechanics; id++) {
+                double latitude = 6.0 + random.nextDouble() * 4.0;
+                double longitude = 79.7 + random.nextDouble() * 2.1;
+
+                users.setLong(1, id);
+                users.addBatch();
+                profiles.setLong(1, id);
+                profiles.setDouble(2, latitude);
+                profiles.setDouble(3, longitude);
+                profiles.addBatch();
+                if (id % 10_000 == 0) {
+                    users.executeBatch();
+                    profiles.executeBatch();
+                }
+
+                index.refresh(profile(id, latitude, longitude));
+            }
+            users.executeBatch();
+            profiles.executeBatch();
+        }
+        nearest = connection.prepareStatement(NEAREST_SQL);
+
+        queries = new double[2048];
+        for (int i = 0; i < queries.length; i += 2) {
+            queries[i] = 6.0 + random.nextDouble() * 4.0;
+            queries[i + 1] = 79.7 + random.nextDouble() * 2.1;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> gridIndex() {
+        int i = nextQuery();
+        return index.findNearest(queries[i], queries[i + 1], K);
+    }
+
+    @Benchmark
+    public List<Long> nativeQuery() throws SQLException {
+        int i = nextQuery();
+        nearest.setDouble(1, queries[i]);
+        nearest.setDouble(2, queries[i + 1]);
+        nearest.setInt(3, K);
+
+        List<Long> ids = new ArrayList<>(K);
+        try (ResultSet rs = nearest.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong("user_id"));
+            }
+        }
+        return ids;
+    }
+
+    private int nextQuery() {
+        next = (next + 2) & (queries.length - 1);
+        return next;
+    }
+
+    private static MechanicProfile profile(long id, double latitude, double longitude) {
+        User user = User.builder().id(id).isActive(true).build();
+        return MechanicProfile.builder()
+                .user(user)
+                .isAvailable(true)
+                .isVerified(true)
+                .currentLatitude(latitude)
+                .currentLongitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.service.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Nearby-provider search on MySQL 8: the DECIMAL box + acos query against the POINT column with a
+// SPATIAL INDEX. Needs a scratch schema, it creates and drops its own table:
+//   ... org.openjdk.jmh.Main ProviderSpatialSearchBenchmark \
+//       -jvmArgsAppend "-Dbench.mysql.url=jdbc:mysql://localhost:3306/bench?user=root&password=secret"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderSpatialSearchBenchmark {
+
+    private static final String TABLE = "bench_parts_providers";
+    private static final double RADIUS_KM = 10;
+
+    // Same shape as PartsProviderRepository.findNearbyProviders
+    private static final String DECIMAL_SQL = """
+        SELECT id FROM %s
+        WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?
+        AND 6371 * acos(LEAST(1.0,
+            cos(radians(?)) * cos(radians(latitude)) * cos(radians(longitude) - radians(?)) +
+            sin(radians(?)) * sin(radians(latitude)))) <= ?
+        ORDER BY POW(latitude - ?, 2) + POW(longitude - ?, 2)
+        """.formatted(TABLE);
+
+    // Same shape as PartsProviderRepository.findNearbyProvidersSpatial
+    private static final String SPATIAL_SQL = """
+        SELECT id FROM %s
+        WHERE MBRContains(ST_GeomFromText(?, 4326, 'axis-order=long-lat'), location)
+        AND ST_Distance_Sphere(location, ST_SRID(POINT(?, ?), 4326)) <= ? * 1000
+        ORDER BY ST_Distance_Sphere(location, ST_SRID(POINT(?, ?), 4326))
+        """.formatted(TABLE);
+
+    @Param({"10000", "100000", "1000000"})
+    private int providers;
+
+    private Connection connection;
+    private PreparedStatement decimal;
+    private PreparedStatement spatial;
+    private double[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.mysql.url");
+        if (url == null) {
+            throw new IllegalStateException("Set -Dbench.mysql.url to a MySQL 8 scratch schema");
+        }
+        connection = DriverManager.getConnection(url);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+            ddl.execute("""
+                CREATE TABLE %s (
+                    id BIGINT PRIMARY KEY,
+                    latitude DECIMAL(10, 8) NOT NULL,
+                    longitude DECIMAL(11, 8) NOT NULL,
+                    INDEX idx_bench_location (latitude, longitude)
+                ) ENGINE=InnoDB
+                """.formatted(TABLE));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE + " VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= providers; id++) {
+                insert.setLong(1, id);
+                insert.setDouble(2, 6.0 + random.nextDouble() * 4.0);
+                insert.setDouble(3, 79.7 + random.nextDouble() * 2.1);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        // What SpatialSearchSupport adds to parts_providers
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                ALTER TABLE %s
+                ADD COLUMN location POINT SRID 4326
+                    GENERATED ALWAYS AS (ST_SRID(POINT(longitude, latitude), 4326)) STORED NOT NULL,
+                ADD SPATIAL INDEX idx_bench_location_point (location)
+                """.formatted(TABLE));
+            ddl.execute("ANALYZE TABLE " + TABLE);
+        }
+
+        decimal = connection.prepareStatement(DECIMAL_SQL);
+        spatial = connection.prepareStatement(SPATIAL_SQL);
+
+        queries = new double[2048];
+        for (int i = 0; i < queries.length; i += 2) {
+            queries[i] = 6.0 + random.nextDouble() * 4.0;
+            queries[i + 1] = 79.7 + random.nextDouble() * 2.1;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int decimalQuery() throws SQLException {
+        int i = nextQuery();
+        double lat = queries[i];
+        double lng = queries[i + 1];
+        BoundingBox box = BoundingBox.around(lat, lng, RADIUS_KM);
+
+        decimal.setDouble(1, box.minLat());
+        decimal.setDouble(2, box.maxLat());
+        decimal.setDouble(3, box.minLng());
+        decimal.setDouble(4, box.maxLng());
+        decimal.setDouble(5, lat);
+        decimal.setDouble(6, lng);
+        decimal.setDouble(7, lat);
+        decimal.setDouble(8, RADIUS_KM);
+        decimal.setDouble(9, lat);
+        decimal.setDouble(10, lng);
+        return count(decimal);
+    }
+
+    @Benchmark
+    public int spatialQuery() throws SQLException {
+        int i = nextQuery();
+        double lat = queries[i];
+        double lng = queries[i + 1];
+
+        spatial.setString(1, BoundingBox.around(lat, lng, RADIUS_KM).toPolygonWkt());
+        spatial.setDouble(2, lng);
+        spatial.setDouble(3, lat);
+        spatial.setDouble(4, RADIUS_KM);
+        spatial.setDouble(5, lng);
+        spatial.setDouble(6, lat);
+        return count(spatial);
+    }
+
+    private int nextQuery() {
+        next = (next + 2) & (queries.length - 1);
+        return next;
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,88 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.RoadTechApplication;
+import com.roadtech.entity.User;
+import com.roadtech.repository.UserRepository;
+import com.roadtech.service.RefreshTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// RefreshTokenService.rotate with N rotated, unexpired tokens of other sessions already stored, on in-memory H2.
+// Tens of millions need more heap: -p historicalTokens=20000000 -jvmArgsAppend -Xmx16g
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RefreshRotationBenchmark {
+
+    private static final int INSERT_CHUNK = 500_000;
+
+    @Param({"0", "1000000", "5000000"})
+    private long historicalTokens;
+
+    private ConfigurableApplicationContext context;
+    private RefreshTokenService refreshTokenService;
+    private String current;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RoadTechApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:rotation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--logging.level.com.roadtech=WARN");
+        refreshTokenService = context.getBean(RefreshTokenService.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .email("rotation@bench.local")
+                .password("unused")
+                .fullName("Rotation bench")
+                .phone("0771234567")
+                .role(User.UserRole.USER)
+                .isActive(true)
+                .build());
+
+        // Set-based inserts keep the load to minutes even at tens of millions of rows
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long from = 1; from <= historicalTokens; from += INSERT_CHUNK) {
+            long to = Math.min(historicalTokens, from + INSERT_CHUNK - 1);
+            jdbcTemplate.update("""
+                    INSERT INTO auth_refresh_tokens (user_id, token_hash, family_id, expires_at, rotated_at, created_at)
+                    SELECT ?, LOWER(RAWTOHEX(HASH('SHA-256', CAST("X" AS VARCHAR)))), CAST("X" / 10 AS VARCHAR),
+                           DATEADD('DAY', 7, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, user.getId(), from, to);
+        }
+
+        current = refreshTokenService.issue(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String rotate() {
+        current = refreshTokenService.rotate(current).refreshToken();
+        return current;
+    }
+}
@@ -0,0 +1,92 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.service.RoadGraphFiles;
+import com.roadtech.service.RoadNetworkRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Travel-time query latency on a synthetic 500 x 500 street grid (250k nodes, about 110 m blocks)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class RoadNetworkRouterBenchmark {
+
+    private static final int SIDE = 500;
+    private static final double SPACING_DEG = 0.001;
+    private static final double ORIGIN_LAT = 6.80;
+    private static final double ORIGIN_LNG = 79.80;
+
+    // Straight-line distance between the two query points
+    @Param({"2", "10"})
+    private double distanceKm;
+
+    private Path file;
+    private RoadNetworkRouter router;
+    private double[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("road-graph", ".bin");
+        RoadGraphFiles.grid(file, SIDE, SIDE, ORIGIN_LAT, ORIGIN_LNG, SPACING_DEG, 40);
+
+        router = new RoadNetworkRouter();
+        ReflectionTestUtils.setField(router, "graphFile", file.toString());
+        ReflectionTestUtils.setField(router, "maxSnapMeters", 1000.0);
+        ReflectionTestUtils.setField(router, "maxSpeedKmh", 130.0);
+        ReflectionTestUtils.setField(router, "accessSpeedKmh", 20.0);
+        ReflectionTestUtils.setField(router, "maxSettledNodes", 500_000);
+        ReflectionTestUtils.setField(router, "searchStates", 4);
+        ReflectionTestUtils.setField(router, "searchWaitMs", 50L);
+        router.load();
+
+        SplittableRandom random = new SplittableRandom(42);
+        double spanDeg = (SIDE - 1) * SPACING_DEG;
+        double offsetDeg = distanceKm * 1000 / 111_320.0;
+        queries = new double[4 * 1024];
+        for (int i = 0; i < queries.length; i += 4) {
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            double dLat = offsetDeg * Math.sin(bearing);
+            double dLng = offsetDeg * Math.cos(bearing);
+            double fromLat = ORIGIN_LAT + Math.abs(dLat) + random.nextDouble() * (spanDeg - 2 * Math.abs(dLat));
+            double fromLng = ORIGIN_LNG + Math.abs(dLng) + random.nextDouble() * (spanDeg - 2 * Math.abs(dLng));
+            queries[i] = fromLat;
+            queries[i + 1] = fromLng;
+            queries[i + 2] = fromLat + dLat;
+            queries[i + 3] = fromLng + dLng;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public OptionalDouble travelTime() {
+        next = (next + 4) & (queries.length - 1);
+        return router.travelTimeSeconds(queries[next], queries[next + 1], queries[next + 2], queries[next + 3]);
+    }
+}
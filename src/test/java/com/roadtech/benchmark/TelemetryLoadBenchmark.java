@@ -0,0 +1,144 @@
+package com.roadtech.benchmark;
+
+import com.roadtech.RoadTechApplication;
+import com.roadtech.entity.User;
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.JwtService;
+import com.roadtech.websocket.LocationWireFormat;
+import com.roadtech.websocket.TelemetryHandshakeInterceptor;
+import com.roadtech.websocket.TelemetryWebSocketHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Load harness for /api/telemetry: N mechanics each hold a socket and stream binary pings.
+// burst sends BURST pings round-robin over the sockets and waits until the handler has counted all of them, so
+// its score is pings ingested per second; roundTrip is a single ping from send to handled. Rate limiting is off so every
+// frame reaches MechanicService; boots the app with the test profile on in-memory H2
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class TelemetryLoadBenchmark {
+
+    private static final long FIRST_MECHANIC_ID = 100_000L;
+    private static final int BURST = 200;
+
+    @Param({"10", "200"})
+    private int sockets;
+
+    private final List<WebSocketSession> sessions = new ArrayList<>();
+
+    private ConfigurableApplicationContext context;
+    private TelemetryWebSocketHandler handler;
+    private long sent;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException, ExecutionException, TimeoutException {
+        context = new SpringApplicationBuilder(RoadTechApplication.class)
+                .profiles("test")
+                // Arguments, not default properties, so they win over application.yml
+                .run("--server.port=0",
+                        "--rate-limit.enabled=false",
+                        "--logging.level.com.roadtech=WARN");
+        handler = context.getBean(TelemetryWebSocketHandler.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        URI uri = URI.create("ws://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+                + "/api/telemetry");
+
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        for (int i = 0; i < sockets; i++) {
+            long mechanicId = FIRST_MECHANIC_ID + i;
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            headers.setSecWebSocketProtocol(List.of(TelemetryHandshakeInterceptor.SUBPROTOCOL,
+                    "bearer." + jwtService.generateAccessToken(new CustomUserDetails(
+                            mechanicId, "mechanic" + i + "@bench.local", User.UserRole.MECHANIC))));
+            sessions.add(client.execute(new AbstractWebSocketHandler() {
+            }, headers, uri).get(10, TimeUnit.SECONDS));
+        }
+        sent = handled();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nTelemetry frames accepted %d, rejected %d%n",
+                handler.getAcceptedCount(), handler.getRejectedCount());
+        for (WebSocketSession session : sessions) {
+            session.close();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public void burst() throws IOException {
+        for (int i = 0; i < BURST; i++) {
+            sendNext();
+        }
+        awaitHandled();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundTrip() throws IOException {
+        sendNext();
+        awaitHandled();
+    }
+
+    private void sendNext() throws IOException {
+        sessions.get(next++ % sessions.size()).sendMessage(new BinaryMessage(ping(sent++)));
+    }
+
+    // Yields rather than spins, the server threads share the same cores
+    private void awaitHandled() {
+        while (handled() < sent) {
+            Thread.yield();
+        }
+    }
+
+    private long handled() {
+        return handler.getAcceptedCount() + handler.getRejectedCount();
+    }
+
+    // Walks about 50 m per ping so the ping filter keeps most of them
+    private static byte[] ping(long sequence) {
+        double step = (sequence % 2_000) * 0.0005;
+        return ByteBuffer.allocate(LocationWireFormat.PING_LENGTH)
+                .put((byte) 1)
+                .putInt((int) Math.round((6.9 + step) * LocationWireFormat.E7))
+                .putInt((int) Math.round((79.8 + step) * LocationWireFormat.E7))
+                .putInt(0)
+                .array();
+    }
+}
@@ -0,0 +1,4 @@
+// JMH benchmarks; surefire skips them. Build the classpath once, then run one by name:
+//   mvn -B test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/bench.cp
+//   java -cp target/test-classes:target/classes:$(cat target/bench.cp) org.openjdk.jmh.Main MechanicNearestBenchmark
+package com.roadtech.benchmark;
@@ -0,0 +1,189 @@
+package com.roadtech.controller;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.ServiceRequest;
+import com.roadtech.entity.User;
+import com.roadtech.repository.MechanicProfileRepository;
+import com.roadtech.repository.ServiceRequestRepository;
+import com.roadtech.repository.UserRepository;
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MechanicAcceptConcurrencyTest {
+
+    private static final int MECHANICS = 8;
+    private static final int CONTESTED_REQUESTS = 40;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MechanicProfileRepository mechanicProfileRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Test
+    void exactlyOneConcurrentAcceptWins() throws Exception {
+        User customer = saveUser("accept-customer@test.local", User.UserRole.USER);
+        ServiceRequest request = saveRequest(customer);
+        List<User> mechanics = saveMechanics("accept-mechanic-");
+
+        ExecutorService pool = Executors.newFixedThreadPool(MECHANICS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> results = new ArrayList<>();
+        try {
+            for (User mechanic : mechanics) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setBearerAuth(jwtService.generateAccessToken(new CustomUserDetails(mechanic)));
+                HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return HttpStatus.valueOf(restTemplate.exchange(
+                            "/mechanic/requests/{id}/accept", HttpMethod.PUT, entity, String.class,
+                            request.getId()).getStatusCode().value());
+                }));
+            }
+            start.countDown();
+
+            List<HttpStatus> statuses = new ArrayList<>();
+            for (Future<HttpStatus> result : results) {
+                statuses.add(result.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(statuses).filteredOn(status -> status == HttpStatus.OK).hasSize(1);
+            assertThat(statuses).filteredOn(status -> status == HttpStatus.CONFLICT).hasSize(MECHANICS - 1);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ServiceRequest claimed = serviceRequestRepository.findByIdWithDetails(request.getId()).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(ServiceRequest.RequestStatus.ACCEPTED);
+        assertThat(claimed.getMechanic()).isNotNull();
+    }
+
+    // Every mechanic taps every request, in its own order; reports accept calls per second and claims per second
+    @Test
+    void contestedAcceptThroughput() throws Exception {
+        User customer = saveUser("throughput-customer@test.local", User.UserRole.USER);
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < CONTESTED_REQUESTS; i++) {
+            requestIds.add(saveRequest(customer).getId());
+        }
+        List<User> mechanics = saveMechanics("throughput-mechanic-");
+
+        ExecutorService pool = Executors.newFixedThreadPool(MECHANICS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<Long, HttpStatus>>> results = new ArrayList<>();
+        long elapsedNanos;
+        try {
+            for (int m = 0; m < MECHANICS; m++) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setBearerAuth(jwtService.generateAccessToken(new CustomUserDetails(mechanics.get(m))));
+                HttpEntity<Void> entity = new HttpEntity<>(headers);
+                List<Long> order = new ArrayList<>(requestIds);
+                Collections.shuffle(order, new Random(m));
+
+                results.add(pool.submit(() -> {
+                    start.await();
+                    Map<Long, HttpStatus> statuses = new HashMap<>();
+                    for (Long id : order) {
+                        statuses.put(id, HttpStatus.valueOf(restTemplate.exchange(
+                                "/mechanic/requests/{id}/accept", HttpMethod.PUT, entity, String.class, id)
+                                .getStatusCode().value()));
+                    }
+                    return statuses;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            List<Map<Long, HttpStatus>> statuses = new ArrayList<>();
+            for (Future<Map<Long, HttpStatus>> result : results) {
+                statuses.add(result.get(120, TimeUnit.SECONDS));
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+
+            Map<HttpStatus, Integer> totals = new EnumMap<>(HttpStatus.class);
+            for (Long id : requestIds) {
+                long winners = statuses.stream().filter(s -> s.get(id) == HttpStatus.OK).count();
+                assertThat(winners).as("winners of request %d", id).isEqualTo(1);
+                statuses.forEach(s -> totals.merge(s.get(id), 1, Integer::sum));
+            }
+            assertThat(totals).containsOnlyKeys(HttpStatus.OK, HttpStatus.CONFLICT);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = elapsedNanos / 1e9;
+        int calls = CONTESTED_REQUESTS * MECHANICS;
+        System.out.printf("Contested accepts: %d calls by %d mechanics in %.2f s, %.0f calls/s, %.0f claims/s%n",
+                calls, MECHANICS, seconds, calls / seconds, CONTESTED_REQUESTS / seconds);
+    }
+
+    private ServiceRequest saveRequest(User customer) {
+        return serviceRequestRepository.save(ServiceRequest.builder()
+                .user(customer)
+                .issueType(ServiceRequest.IssueType.FLAT_TIRE)
+                .latitude(6.9271)
+                .longitude(79.8612)
+                .build());
+    }
+
+    private List<User> saveMechanics(String emailPrefix) {
+        List<User> mechanics = new ArrayList<>();
+        for (int i = 0; i < MECHANICS; i++) {
+            User mechanic = saveUser(emailPrefix + i + "@test.local", User.UserRole.MECHANIC);
+            mechanicProfileRepository.save(MechanicProfile.builder()
+                    .user(mechanic)
+                    .isAvailable(true)
+                    .isVerified(true)
+                    .build());
+            mechanics.add(mechanic);
+        }
+        return mechanics;
+    }
+
+    private User saveUser(String email, User.UserRole role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("unused")
+                .fullName("Test " + role)
+                .phone("0000000000")
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,47 @@
+package com.roadtech.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Loopback is not a trusted proxy here, so X-Forwarded-For must not change the bucket
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.remoteip.internal-proxies=192\\.0\\.2\\.1",
+        // Own database, so this context's create-drop leaves the shared test context alone
+        "spring.datasource.url=jdbc:h2:mem:roadtech-rate-limit;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "rate-limit.auth.capacity=3"
+})
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void spoofedForwardedForDoesNotBypassTheAuthBucket() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(register("198.51.100." + i)).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        assertThat(register("198.51.100.99")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // An empty registration fails validation, which keeps the request cheap and still goes through the AUTH bucket
+    private HttpStatus register(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+
+        return HttpStatus.valueOf(restTemplate.postForEntity("/auth/register", new HttpEntity<>(Map.of(), headers), String.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,100 @@
+package com.roadtech.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final int CAPACITY = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "stripeCount", 4);
+        // Refill is far too slow to add a token while the test runs
+        ReflectionTestUtils.setField(rateLimiter, "authCapacity", CAPACITY);
+        ReflectionTestUtils.setField(rateLimiter, "authRefillPerSecond", 0.0001);
+        ReflectionTestUtils.setField(rateLimiter, "locationCapacity", CAPACITY);
+        ReflectionTestUtils.setField(rateLimiter, "locationRefillPerSecond", 0.0001);
+        ReflectionTestUtils.setField(rateLimiter, "searchCapacity", CAPACITY);
+        ReflectionTestUtils.setField(rateLimiter, "searchRefillPerSecond", 0.0001);
+        rateLimiter.init();
+    }
+
+    @Test
+    void concurrentCallersOnOneKeyGetExactlyTheCapacity() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                        if (rateLimiter.tryAcquire(RateLimiter.RouteClass.AUTH, "203.0.113.7")) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(granted).isEqualTo(CAPACITY);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long rejected = threads * attemptsPerThread - CAPACITY;
+        assertThat(rateLimiter.getRejectedCount(RateLimiter.RouteClass.AUTH)).isEqualTo(rejected);
+        assertThat(meterRegistry.get("rate_limit.rejected").tag("route", "auth").functionCounter().count())
+                .isEqualTo(rejected);
+    }
+
+    @Test
+    void keysAndRouteClassesHaveSeparateBuckets() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.RouteClass.AUTH, 1L)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteClass.AUTH, 1L)).isFalse();
+
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteClass.AUTH, 2L)).isTrue();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteClass.SEARCH, 1L)).isTrue();
+
+        assertThat(meterRegistry.get("rate_limit.tracked_keys").tag("route", "auth").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("rate_limit.rejected").tag("route", "search").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+
+        for (int i = 0; i < CAPACITY * 3; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.RouteClass.LOCATION, 1L)).isTrue();
+        }
+        assertThat(rateLimiter.getRejectedCount(RateLimiter.RouteClass.LOCATION)).isZero();
+    }
+}
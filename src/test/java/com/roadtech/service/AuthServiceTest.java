@@ -0,0 +1,48 @@
+package com.roadtech.service;
+
+import com.roadtech.dto.auth.LoginRequest;
+import com.roadtech.exception.ServiceUnavailableException;
+import com.roadtech.repository.UserRepository;
+import com.roadtech.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    @Test
+    void fullDatabaseQueueIsShedAsServiceUnavailable() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmailAndIsActiveTrue(any())).thenReturn(Optional.empty());
+        PasswordHasher passwordHasher = mock(PasswordHasher.class);
+        when(passwordHasher.verify(any(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(false, null)));
+
+        // A shut down pool rejects every task, as a saturated one does
+        ThreadPoolTaskExecutor authTaskExecutor = new ThreadPoolTaskExecutor();
+        authTaskExecutor.initialize();
+        authTaskExecutor.shutdown();
+
+        AuthService authService = new AuthService(userRepository, null, null, passwordHasher, null, null, null,
+                authTaskExecutor);
+        LoginRequest request = new LoginRequest();
+        request.setEmail("storm@test.local");
+        request.setPassword("password123");
+
+        Throwable failure = catchThrowable(() -> authService.login(request).get(5, TimeUnit.SECONDS));
+
+        assertThat(failure).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+    }
+}
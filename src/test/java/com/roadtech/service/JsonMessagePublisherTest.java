@@ -0,0 +1,119 @@
+package com.roadtech.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roadtech.dto.notification.NotificationMessage;
+import com.roadtech.websocket.LocationWireFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class JsonMessagePublisherTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JsonMessagePublisher publisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    @BeforeEach
+    void connect() throws Exception {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        session = stompClient.connectAsync("ws://localhost:" + port + "/api/ws-stomp",
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+        stompClient.stop();
+    }
+
+    @Test
+    void subscriberReceivesJsonObjectBody() throws Exception {
+        String destination = "/topic/test/json";
+        BlockingQueue<Frame> frames = subscribe(destination);
+
+        Frame frame = publishUntilReceived(frames, () -> publisher.publish(
+                NotificationMessage.of("PING", Map.of("value", 42)), destination));
+
+        assertThat(frame.headers().getContentType()).hasToString("application/json");
+        JsonNode body = objectMapper.readTree(frame.body());
+        assertThat(body.isObject()).isTrue();
+        assertThat(body.path("type").asText()).isEqualTo("PING");
+        assertThat(body.path("payload").path("value").asInt()).isEqualTo(42);
+    }
+
+    @Test
+    void subscriberReceivesBinaryBodyUnchanged() throws Exception {
+        String destination = "/topic/test/binary";
+        BlockingQueue<Frame> frames = subscribe(destination);
+        byte[] update = LocationWireFormat.encodeUpdate(7L, 9L, 6.9271, 79.8612, 1500L);
+
+        Frame frame = publishUntilReceived(frames,
+                () -> publisher.send(update, destination, LocationWireFormat.MIME_TYPE));
+
+        assertThat(frame.headers().getContentType()).isEqualTo(LocationWireFormat.MIME_TYPE);
+        assertThat(frame.body()).isEqualTo(update);
+    }
+
+    private BlockingQueue<Frame> subscribe(String destination) {
+        BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                frames.add(new Frame(headers, (byte[]) payload));
+            }
+        });
+        return frames;
+    }
+
+    // The SUBSCRIBE is processed asynchronously, so publish until the subscription is live
+    private static Frame publishUntilReceived(BlockingQueue<Frame> frames, Runnable publish) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            publish.run();
+            Frame frame = frames.poll(200, TimeUnit.MILLISECONDS);
+            if (frame != null) {
+                return frame;
+            }
+        }
+        throw new AssertionError("No frame received");
+    }
+
+    private record Frame(StompHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.User;
+import com.roadtech.repository.MechanicProfileRepository;
+import com.roadtech.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MechanicLocationBufferTest {
+
+    @Autowired
+    private MechanicLocationBuffer buffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MechanicProfileRepository mechanicProfileRepository;
+
+    @Test
+    void rowTheDatabaseRefusesDoesNotBlockTheOthers() {
+        Long good = saveMechanic("buffer-good@test.local");
+        Long bad = saveMechanic("buffer-bad@test.local");
+        long now = System.currentTimeMillis();
+
+        // Overflows DECIMAL(10,8), so the whole JDBC batch fails
+        buffer.recordIfNewer(bad, 1000.0, 79.8612, now);
+        buffer.recordIfNewer(good, 6.9271, 79.8612, now);
+
+        buffer.flush();
+
+        assertThat(buffer.get(good)).isNull();
+        assertThat(buffer.get(bad)).isNull();
+        MechanicProfile stored = mechanicProfileRepository.findByUserId(good).orElseThrow();
+        assertThat(stored.getCurrentLatitude()).isEqualTo(6.9271);
+        assertThat(mechanicProfileRepository.findByUserId(bad).orElseThrow().getCurrentLatitude()).isNull();
+    }
+
+    private Long saveMechanic(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("unused")
+                .fullName("Test mechanic")
+                .phone("0000000000")
+                .role(User.UserRole.MECHANIC)
+                .build());
+        mechanicProfileRepository.save(MechanicProfile.builder()
+                .user(user)
+                .isAvailable(true)
+                .isVerified(true)
+                .build());
+        return user.getId();
+    }
+}
@@ -0,0 +1,55 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.MechanicProfile;
+import com.roadtech.entity.User;
+import com.roadtech.repository.MechanicProfileRepository;
+import com.roadtech.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MechanicLocationUpdateTest {
+
+    @Autowired
+    private MechanicService mechanicService;
+
+    @Autowired
+    private MechanicLocationBuffer buffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MechanicProfileRepository mechanicProfileRepository;
+
+    @Test
+    void negativeFixAgeDoesNotFreezeLaterPings() {
+        Long userId = saveMechanic("fix-age-future@test.local");
+
+        mechanicService.updateLocation(userId, 6.9271, 79.8612, -3_600_000L);
+
+        // Dated an hour ahead, the first fix would make every real one look stale
+        assertThat(buffer.recordIfNewer(userId, 6.9275, 79.8615, System.currentTimeMillis())).isTrue();
+    }
+
+    private Long saveMechanic(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("unused")
+                .fullName("Test mechanic")
+                .phone("0000000000")
+                .role(User.UserRole.MECHANIC)
+                .build());
+        mechanicProfileRepository.save(MechanicProfile.builder()
+                .user(user)
+                .isAvailable(true)
+                .isVerified(true)
+                .build());
+        return user.getId();
+    }
+}
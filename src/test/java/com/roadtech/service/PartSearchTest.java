@@ -0,0 +1,91 @@
+package com.roadtech.service;
+
+import com.roadtech.dto.parts.PartDto;
+import com.roadtech.entity.Part;
+import com.roadtech.entity.PartsProvider;
+import com.roadtech.entity.User;
+import com.roadtech.repository.PartRepository;
+import com.roadtech.repository.PartsProviderRepository;
+import com.roadtech.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PartSearchTest {
+
+    private static final double LAT = 6.9271;
+    private static final double LNG = 79.8612;
+
+    @Autowired
+    private PartsProviderService partsProviderService;
+
+    @Autowired
+    private PartSearchIndex partSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PartsProviderRepository partsProviderRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Test
+    void ranksOnlyNearbyPartsByRelevance() {
+        PartsProvider nearby = saveProvider("search-near@test.local", LAT + 0.01, LNG);
+        PartsProvider distant = saveProvider("search-far@test.local", LAT + 2.0, LNG);
+
+        Part descriptionMatch = savePart(nearby, "Filter kit", "Generic", "fits the zephyrpad caliper");
+        Part nameMatch = savePart(nearby, "Zephyrpad brake pad", "Generic", null);
+        savePart(nearby, "Wiper blade", "Generic", null);
+        // Would outrank both nearby parts, but is outside the radius
+        savePart(distant, "Zephyrpad Zephyrpad", "Zephyrpad", null);
+
+        List<PartDto> results = partsProviderService.searchNearbyParts(null, "zephyrpad", LAT, LNG, 10.0);
+
+        assertThat(results).extracting(PartDto::getId)
+                .containsExactly(nameMatch.getId(), descriptionMatch.getId());
+    }
+
+    private PartsProvider saveProvider(String email, double latitude, double longitude) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("unused")
+                .fullName("Test provider")
+                .phone("0000000000")
+                .role(User.UserRole.PARTS_PROVIDER)
+                .build());
+        return partsProviderRepository.save(PartsProvider.builder()
+                .user(user)
+                .shopName("Shop " + email)
+                .address("Test street")
+                .latitude(latitude)
+                .longitude(longitude)
+                .isVerified(true)
+                .isOpen(true)
+                .build());
+    }
+
+    private Part savePart(PartsProvider provider, String name, String brand, String description) {
+        Part part = partRepository.save(Part.builder()
+                .provider(provider)
+                .name(name)
+                .category(Part.PartCategory.ENGINE_PARTS)
+                .brand(brand)
+                .price(BigDecimal.TEN)
+                .stock(5)
+                .description(description)
+                .build());
+        partSearchIndex.indexAfterCommit(part);
+        return part;
+    }
+}
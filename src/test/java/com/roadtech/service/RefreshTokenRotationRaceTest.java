@@ -0,0 +1,80 @@
+package com.roadtech.service;
+
+import com.roadtech.entity.User;
+import com.roadtech.exception.UnauthorizedException;
+import com.roadtech.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RefreshTokenRotationRaceTest {
+
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentRotationsOfOneTokenRevokeTheFamily() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("rotation-race@test.local")
+                .password("unused")
+                .fullName("Rotation Race")
+                .phone("0000000000")
+                .role(User.UserRole.USER)
+                .build());
+        String token = refreshTokenService.issue(user);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RefreshTokenService.Rotation>> results = new ArrayList<>();
+        List<RefreshTokenService.Rotation> rotations = new ArrayList<>();
+        int rejected = 0;
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotate(token);
+                }));
+            }
+            start.countDown();
+
+            for (Future<RefreshTokenService.Rotation> result : results) {
+                try {
+                    rotations.add(result.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(UnauthorizedException.class);
+                    rejected++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(rotations).hasSize(1);
+        assertThat(rejected).isEqualTo(CLIENTS - 1);
+
+        // The losers saw a reused token, so the winner's fresh token went with the family
+        String winner = rotations.get(0).refreshToken();
+        assertThatThrownBy(() -> refreshTokenService.rotate(winner)).isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(UnauthorizedException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.roadtech.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Writes graph files in the layout RoadNetworkRouter maps
+public final class RoadGraphFiles {
+
+    private RoadGraphFiles() {
+    }
+
+    public static void write(Path file, int[] latE7, int[] lngE7, int[] firstEdge, int[] target, int[] cost)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 4 * (latE7.length + lngE7.length + firstEdge.length
+                + target.length + cost.length)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x52544752).putInt(latE7.length).putInt(target.length);
+        buffer.asIntBuffer().put(latE7).put(lngE7).put(firstEdge).put(target).put(cost);
+        Files.write(file, buffer.array());
+    }
+
+    // rows x cols nodes spacingDeg apart from (originLat, originLng), each linked both ways to its
+    // four neighbours at speedKmh
+    public static void grid(Path file, int rows, int cols, double originLat, double originLng,
+                            double spacingDeg, double speedKmh) throws IOException {
+        int nodes = rows * cols;
+        int[] lat = new int[nodes];
+        int[] lng = new int[nodes];
+        int[] firstEdge = new int[nodes + 1];
+        int[] target = new int[4 * nodes];
+        int[] cost = new int[4 * nodes];
+
+        double metersPerSecond = speedKmh / 3.6;
+        int edges = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int node = r * cols + c;
+                double nodeLat = originLat + r * spacingDeg;
+                lat[node] = (int) Math.round(nodeLat * 1e7);
+                lng[node] = (int) Math.round((originLng + c * spacingDeg) * 1e7);
+                firstEdge[node] = edges;
+
+                double northMeters = spacingDeg * 111_320.0;
+                double eastMeters = northMeters * Math.cos(Math.toRadians(nodeLat));
+                int[][] neighbours = {{r - 1, c}, {r + 1, c}, {r, c - 1}, {r, c + 1}};
+                for (int[] n : neighbours) {
+                    if (n[0] < 0 || n[0] >= rows || n[1] < 0 || n[1] >= cols) {
+                        continue;
+                    }
+                    double meters = n[0] == r ? eastMeters : northMeters;
+                    target[edges] = n[0] * cols + n[1];
+                    cost[edges] = (int) Math.ceil(meters / metersPerSecond * 10);
+                    edges++;
+                }
+            }
+        }
+        firstEdge[nodes] = edges;
+
+        write(file, lat, lng, firstEdge,
+                Arrays.copyOf(target, edges), Arrays.copyOf(cost, edges));
+    }
+}
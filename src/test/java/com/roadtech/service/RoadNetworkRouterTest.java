@@ -0,0 +1,85 @@
+package com.roadtech.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoadNetworkRouterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void routesAcrossTheGrid() throws IOException {
+        Path file = dir.resolve("grid.bin");
+        RoadGraphFiles.grid(file, 10, 10, 6.90, 79.85, 0.001, 36);
+        RoadNetworkRouter router = router(file, 1000);
+
+        // Nine blocks north at 10 m/s, no access legs since both points sit on nodes
+        OptionalDouble seconds = router.travelTimeSeconds(6.900, 79.850, 6.909, 79.850);
+
+        assertThat(router.isAvailable()).isTrue();
+        assertThat(seconds).isPresent();
+        assertThat(seconds.getAsDouble()).isBetween(99.0, 101.5);
+    }
+
+    @Test
+    void refusesAnEdgeTargetOutsideTheGraph() throws IOException {
+        Path file = dir.resolve("bad-target.bin");
+        RoadGraphFiles.write(file, new int[]{69_000_000, 69_010_000}, new int[]{798_500_000, 798_500_000},
+                new int[]{0, 1, 2}, new int[]{1, 7}, new int[]{10, 10});
+
+        assertThat(router(file, 1000).isAvailable()).isFalse();
+    }
+
+    @Test
+    void refusesEdgeOffsetsThatDoNotSpanTheEdges() throws IOException {
+        Path file = dir.resolve("bad-offsets.bin");
+        RoadGraphFiles.write(file, new int[]{69_000_000, 69_010_000}, new int[]{798_500_000, 798_500_000},
+                new int[]{0, 2, 1}, new int[]{1, 0}, new int[]{10, 10});
+
+        assertThat(router(file, 1000).isAvailable()).isFalse();
+    }
+
+    @Test
+    void refusesATruncatedFile() throws IOException {
+        Path file = dir.resolve("truncated.bin");
+        RoadGraphFiles.grid(file, 4, 4, 6.90, 79.85, 0.001, 36);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThat(router(file, 1000).isAvailable()).isFalse();
+    }
+
+    @Test
+    void snapsAsFarAsTheConfiguredRadius() throws IOException {
+        Path file = dir.resolve("far.bin");
+        RoadGraphFiles.grid(file, 2, 2, 60.00, 10.00, 0.001, 36);
+        RoadNetworkRouter router = router(file, 5000);
+
+        // About 2.8 km from the nearest node at 60N, several 0.01 degree cells away in both axes
+        assertThat(router.travelTimeSeconds(60.025, 10.00, 60.025, 10.001)).isPresent();
+        assertThat(router(file, 1000).travelTimeSeconds(60.025, 10.00, 60.025, 10.001)).isEmpty();
+    }
+
+    private static RoadNetworkRouter router(Path file, double maxSnapMeters) {
+        RoadNetworkRouter router = new RoadNetworkRouter();
+        ReflectionTestUtils.setField(router, "graphFile", file.toString());
+        ReflectionTestUtils.setField(router, "maxSnapMeters", maxSnapMeters);
+        ReflectionTestUtils.setField(router, "maxSpeedKmh", 130.0);
+        ReflectionTestUtils.setField(router, "accessSpeedKmh", 20.0);
+        ReflectionTestUtils.setField(router, "maxSettledNodes", 500_000);
+        ReflectionTestUtils.setField(router, "searchStates", 2);
+        ReflectionTestUtils.setField(router, "searchWaitMs", 50L);
+        router.load();
+        return router;
+    }
+}
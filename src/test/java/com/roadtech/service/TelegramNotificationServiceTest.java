@@ -0,0 +1,135 @@
+package com.roadtech.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramNotificationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Scripted responses, one per request; the stub answers 200 once they run out
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final Queue<JsonNode> received = new ConcurrentLinkedQueue<>();
+
+    private HttpServer server;
+    private TelegramNotificationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void retriesRateLimitedMessageAndDeliversIt() {
+        statuses.add(429);
+        service = start("test-token");
+
+        service.sendMessage(42L, "hello");
+
+        awaitTrue(() -> service.getQueuedCount() == 0);
+        assertThat(service.getSentCount()).isEqualTo(1);
+        assertThat(service.getRetriedCount()).isEqualTo(1);
+        assertThat(service.getFailedCount()).isZero();
+        assertThat(received).hasSize(2);
+        assertThat(received).allSatisfy(body -> {
+            assertThat(body.path("chat_id").asLong()).isEqualTo(42L);
+            assertThat(body.path("text").asText()).isEqualTo("hello");
+        });
+    }
+
+    @Test
+    void permanentRejectionLeavesTheQueue() {
+        statuses.add(400);
+        service = start("test-token");
+
+        service.sendMessage(7L, "blocked");
+
+        awaitTrue(() -> service.getQueuedCount() == 0);
+        assertThat(service.getFailedCount()).isEqualTo(1);
+        assertThat(service.getSentCount()).isZero();
+    }
+
+    @Test
+    void runtimeFailureStillReleasesQueueSlot() {
+        // A space in the token makes URI.create throw inside the worker
+        service = start("bad token");
+
+        List.of(1L, 2L, 3L).forEach(chatId -> service.sendMessage(chatId, "x"));
+
+        awaitTrue(() -> service.getQueuedCount() == 0);
+        assertThat(service.getFailedCount()).isEqualTo(3);
+        assertThat(received).isEmpty();
+    }
+
+    private TelegramNotificationService start(String botToken) {
+        TelegramNotificationService telegram = new TelegramNotificationService(null, objectMapper);
+        ReflectionTestUtils.setField(telegram, "botToken", botToken);
+        ReflectionTestUtils.setField(telegram, "apiBaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(telegram, "workers", 2);
+        ReflectionTestUtils.setField(telegram, "queueCapacity", 100);
+        ReflectionTestUtils.setField(telegram, "globalPerSecond", 1000);
+        ReflectionTestUtils.setField(telegram, "perChatIntervalMs", 0L);
+        ReflectionTestUtils.setField(telegram, "maxAttempts", 3);
+        ReflectionTestUtils.setField(telegram, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(telegram, "requestTimeoutMs", 5000L);
+        telegram.start();
+        return telegram;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        received.add(objectMapper.readTree(exchange.getRequestBody()));
+
+        Integer scripted = statuses.poll();
+        int status = scripted != null ? scripted : 200;
+        byte[] body = (status == 429
+                ? "{\"ok\":false,\"parameters\":{\"retry_after\":0}}"
+                : "{\"ok\":" + (status == 200) + "}").getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.roadtech.websocket;
+
+import com.roadtech.entity.User;
+import com.roadtech.security.CustomUserDetails;
+import com.roadtech.security.JwtService;
+import com.roadtech.security.RevokedUserRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TelemetryWebSocketTest {
+
+    private static final long MECHANIC_ID = 9_001L;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RevokedUserRegistry revokedUserRegistry;
+
+    private final StandardWebSocketClient client = new StandardWebSocketClient();
+
+    @Test
+    void tokenOfferedAsSubprotocolIsAcceptedAndRevocationClosesSocket() throws Exception {
+        CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(List.of(TelemetryHandshakeInterceptor.SUBPROTOCOL, "bearer." + token()));
+
+        WebSocketSession session = client.execute(closeListener(closed), headers, telemetryUri(""))
+                .get(10, TimeUnit.SECONDS);
+        assertThat(session.getAcceptedProtocol()).isEqualTo(TelemetryHandshakeInterceptor.SUBPROTOCOL);
+
+        revokedUserRegistry.revoke(MECHANIC_ID);
+        try {
+            session.sendMessage(new BinaryMessage(ping()));
+            assertThat(closed.get(10, TimeUnit.SECONDS).getCode()).isEqualTo(4403);
+        } finally {
+            revokedUserRegistry.restore(MECHANIC_ID);
+        }
+    }
+
+    @Test
+    void tokenInQueryStringIsRejected() {
+        assertThatThrownBy(() -> client.execute(closeListener(new CompletableFuture<>()),
+                new WebSocketHttpHeaders(), telemetryUri("?token=" + token())).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    private String token() {
+        return jwtService.generateAccessToken(
+                new CustomUserDetails(MECHANIC_ID, "telemetry@test.local", User.UserRole.MECHANIC));
+    }
+
+    private URI telemetryUri(String query) {
+        return URI.create("ws://localhost:" + port + "/api/telemetry" + query);
+    }
+
+    private static AbstractWebSocketHandler closeListener(CompletableFuture<CloseStatus> closed) {
+        return new AbstractWebSocketHandler() {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                closed.complete(status);
+            }
+        };
+    }
+
+    private static byte[] ping() {
+        return ByteBuffer.allocate(LocationWireFormat.PING_LENGTH)
+                .put((byte) 1)
+                .putInt((int) Math.round(6.9271 * LocationWireFormat.E7))
+                .putInt((int) Math.round(79.8612 * LocationWireFormat.E7))
+                .putInt(0)
+                .array();
+    }
+}